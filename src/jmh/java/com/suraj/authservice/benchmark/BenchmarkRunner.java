@@ -0,0 +1,161 @@
+package com.suraj.authservice.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Runs the JMH benchmarks at several thread counts with the GC profiler attached, writes the results
+ * to {@code target/jmh/results.json}, and optionally checks them against a saved baseline.
+ * <p>
+ * Arguments (all optional):
+ * <ul>
+ *     <li>{@code --include <regex>} benchmarks to run, default all</li>
+ *     <li>{@code --threads 1,4,16} thread counts to run each benchmark at</li>
+ *     <li>{@code --baseline <file>} fail with exit code 1 if any result regressed against this file</li>
+ *     <li>{@code --tolerance 0.10} allowed relative regression in score and allocation per operation</li>
+ *     <li>{@code --save-baseline <file>} write the results as the new baseline</li>
+ * </ul>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Djmh.args="--threads 1,4 --baseline jmh-baseline.json"}.
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+    // Allocation differences below this many bytes per operation are noise, not regressions
+    private static final double ALLOCATION_SLACK_BYTES = 16;
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArguments(args);
+        String include = options.getOrDefault("include", "com\\.suraj\\.authservice\\..*");
+        int[] threadCounts = Arrays.stream(options.getOrDefault("threads", "1,4,16").split(","))
+                .mapToInt(value -> Integer.parseInt(value.trim()))
+                .toArray();
+        double tolerance = Double.parseDouble(options.getOrDefault("tolerance", "0.10"));
+
+        Map<String, Measurement> results = new TreeMap<>();
+        for (int threads : threadCounts) {
+            OptionsBuilder runOptions = new OptionsBuilder();
+            runOptions.include(include)
+                    .threads(threads)
+                    .addProfiler(GCProfiler.class);
+            for (RunResult runResult : new Runner(runOptions.build()).run()) {
+                results.put(label(runResult.getParams(), threads), measure(runResult));
+            }
+        }
+
+        ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+        Path resultFile = Path.of("target", "jmh", "results.json");
+        Files.createDirectories(resultFile.getParent());
+        objectMapper.writeValue(resultFile.toFile(), results);
+        System.out.println("Results written to " + resultFile.toAbsolutePath());
+
+        if (options.containsKey("save-baseline")) {
+            objectMapper.writeValue(Path.of(options.get("save-baseline")).toFile(), results);
+            System.out.println("Baseline saved to " + options.get("save-baseline"));
+        }
+
+        if (options.containsKey("baseline")) {
+            Map<String, Measurement> baseline = new TreeMap<>();
+            objectMapper.readTree(Path.of(options.get("baseline")).toFile()).fields().forEachRemaining(entry ->
+                    baseline.put(entry.getKey(), objectMapper.convertValue(entry.getValue(), Measurement.class)));
+
+            List<String> regressions = compare(baseline, results, tolerance);
+            if (!regressions.isEmpty()) {
+                System.out.println("Regressions against " + options.get("baseline") + ":");
+                regressions.forEach(regression -> System.out.println("  " + regression));
+                System.exit(1);
+            }
+            System.out.println("No regressions against " + options.get("baseline"));
+        }
+    }
+
+    private static List<String> compare(Map<String, Measurement> baseline, Map<String, Measurement> results,
+                                        double tolerance) {
+        List<String> regressions = new ArrayList<>();
+        baseline.forEach((label, before) -> {
+            Measurement after = results.get(label);
+            if (after == null) {
+                return;
+            }
+            boolean slower = before.higherIsBetter()
+                    ? after.score() < before.score() * (1 - tolerance)
+                    : after.score() > before.score() * (1 + tolerance);
+            if (slower) {
+                regressions.add(String.format("%s: score %.3f -> %.3f %s", label, before.score(), after.score(),
+                        after.unit()));
+            }
+            if (before.allocatedBytesPerOp() >= 0 && after.allocatedBytesPerOp()
+                    > before.allocatedBytesPerOp() * (1 + tolerance) + ALLOCATION_SLACK_BYTES) {
+                regressions.add(String.format("%s: allocation %.0f -> %.0f B/op", label,
+                        before.allocatedBytesPerOp(), after.allocatedBytesPerOp()));
+            }
+        });
+        return regressions;
+    }
+
+    private static Measurement measure(RunResult runResult) {
+        Result<?> primary = runResult.getPrimaryResult();
+        double allocatedBytesPerOp = runResult.getSecondaryResults().entrySet().stream()
+                .filter(entry -> entry.getKey().endsWith(ALLOCATION_METRIC))
+                .mapToDouble(entry -> entry.getValue().getScore())
+                .findFirst()
+                .orElse(-1);
+        double scoreError = Double.isNaN(primary.getScoreError()) ? 0 : primary.getScoreError();
+        return new Measurement(primary.getScore(), scoreError, primary.getScoreUnit(),
+                runResult.getParams().getMode() == Mode.Throughput, allocatedBytesPerOp);
+    }
+
+    // e.g. "...JwtAuthenticationFilterBenchmark.doFilter(tokenCache=true,useDb=false)@4t"
+    private static String label(BenchmarkParams params, int threads) {
+        StringBuilder label = new StringBuilder(params.getBenchmark());
+        if (!params.getParamsKeys().isEmpty()) {
+            label.append('(');
+            String separator = "";
+            for (String key : params.getParamsKeys()) {
+                label.append(separator).append(key).append('=').append(params.getParam(key));
+                separator = ",";
+            }
+            label.append(')');
+        }
+        return label.append('@').append(threads).append('t').toString();
+    }
+
+    private static Map<String, String> parseArguments(String[] args) {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--") || i + 1 == args.length) {
+                throw new IllegalArgumentException("Expected --name value pairs but got: " + String.join(" ", args));
+            }
+            options.put(args[i].substring(2), args[++i]);
+        }
+        return options;
+    }
+
+    /**
+     * One benchmark result as stored in the results and baseline files.
+     *
+     * @param higherIsBetter      true for throughput scores, false for time per operation
+     * @param allocatedBytesPerOp bytes allocated per operation, or -1 if the GC profiler reported none
+     */
+    public record Measurement(double score, double scoreError, String unit, boolean higherIsBetter,
+                              double allocatedBytesPerOp) {
+    }
+}
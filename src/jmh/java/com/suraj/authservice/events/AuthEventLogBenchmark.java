@@ -0,0 +1,39 @@
+package com.suraj.authservice.events;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost on the request thread of publishing an auth event: sampling, building the event and the ring
+ * buffer offer, with several producers contending when run at more than one thread. The writer thread
+ * drains to a logger without appenders, so rendering does not compete for the measured threads' time.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AuthEventLogBenchmark {
+
+    @Param({"1.0", "0.1"})
+    public double sampleRate;
+
+    private AuthEventLog eventLog;
+
+    @Setup
+    public void setUp() {
+        eventLog = new AuthEventLog(true, 8192, sampleRate, sampleRate, sampleRate, sampleRate, sampleRate);
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        eventLog.shutdown();
+    }
+
+    @Benchmark
+    public void publishLoginFailure() {
+        eventLog.publish(AuthEventType.LOGIN_FAILURE, "benchmark-user", "203.0.113.7", "reason", "bad_credentials");
+    }
+}
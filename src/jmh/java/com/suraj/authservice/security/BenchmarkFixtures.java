@@ -0,0 +1,162 @@
+package com.suraj.authservice.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.authservice.config.RouteAuthorizationConfig;
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wires the authentication components by hand, without a Spring context or a database, so the
+ * benchmarks measure the code on the request path and nothing else.
+ */
+final class BenchmarkFixtures {
+
+    static final String ISSUER = "stranger-app";
+    static final long EXPIRATION_SECONDS = 900;
+
+    // Meters are recorded as in production, into a registry nobody scrapes
+    static final AuthMetrics METRICS = new AuthMetrics(new SimpleMeterRegistry());
+
+    static final AuthFailureResponses FAILURE_RESPONSES = new AuthFailureResponses(
+            new ObjectMapper().findAndRegisterModules());
+
+    // Every event sampled; logback-test.xml sends auth.events nowhere, so only the pipeline is measured
+    static final AuthEventLog EVENTS = new AuthEventLog(true, 8192, 1.0, 1.0, 1.0, 1.0, 1.0);
+
+    static final AuthFailureLog FAILURE_LOG = new AuthFailureLog(EVENTS);
+
+    static final RouteAuthorizationTable ROUTES = new RouteAuthorizationConfig().routeAuthorizationTable();
+
+    // A single database, as without auth.datasource.routing
+    static final ReadYourWritesWindow READ_YOUR_WRITES = new ReadYourWritesWindow(false, 0, 1);
+
+    private BenchmarkFixtures() {
+    }
+
+    static JwtKeyRing keyRing(String algorithm) {
+        return new JwtKeyRing(algorithm, "benchmark-secret-key-of-reasonable-length", "", "", "primary",
+                EXPIRATION_SECONDS, "", new ObjectMapper());
+    }
+
+    static JWTService jwtService(JwtKeyRing keyRing) {
+        JWTService jwtService = new JWTService(keyRing, METRICS);
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", EXPIRATION_SECONDS);
+        ReflectionTestUtils.setField(jwtService, "issuer", ISSUER);
+        return jwtService;
+    }
+
+    static User user(String username, Role role) {
+        User user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword("{bcrypt}$2a$12$unused");
+        user.setRole(role);
+        user.setCreatedAt(Instant.now());
+        user.setUpdatedAt(Instant.now());
+        return user;
+    }
+
+    /**
+     * A {@link UserRepository} stand-in answering {@code findByUsername} and {@code findAuthPrincipalByUsername}
+     * from a map; any other call fails.
+     */
+    static UserRepository inMemoryUserRepository(User... users) {
+        return inMemoryUserRepository(0, users);
+    }
+
+    /**
+     * Same as {@link #inMemoryUserRepository(User...)}, but each lookup first blocks for the given time
+     * to stand in for a database round trip.
+     */
+    static UserRepository inMemoryUserRepository(long latencyMillis, User... users) {
+        Map<String, User> byUsername = new ConcurrentHashMap<>();
+        for (User user : users) {
+            byUsername.put(user.getUsername(), user);
+        }
+        return (UserRepository) Proxy.newProxyInstance(
+                UserRepository.class.getClassLoader(),
+                new Class<?>[]{UserRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUsername" -> {
+                        if (latencyMillis > 0) {
+                            Thread.sleep(latencyMillis);
+                        }
+                        yield Optional.ofNullable(byUsername.get((String) args[0]));
+                    }
+                    case "findAuthPrincipalByUsername" -> {
+                        if (latencyMillis > 0) {
+                            Thread.sleep(latencyMillis);
+                        }
+                        yield Optional.ofNullable(byUsername.get((String) args[0]))
+                                .map(user -> new AuthPrincipal(user.getId(), user.getUsername(), user.getRole()));
+                    }
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryUserRepository";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    /**
+     * A mock response whose body is written in bulk to a buffer of its own, as by a servlet container.
+     * The stream of {@link MockHttpServletResponse} writes and flushes one byte at a time, which would
+     * dominate any benchmark that renders a response body.
+     */
+    static MockHttpServletResponse response() {
+        ByteArrayOutputStream body = new ByteArrayOutputStream(256);
+        return new MockHttpServletResponse() {
+            private final ServletOutputStream outputStream = new ServletOutputStream() {
+                @Override
+                public void write(int b) {
+                    body.write(b);
+                }
+
+                @Override
+                public void write(byte[] b, int off, int len) {
+                    body.write(b, off, len);
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setWriteListener(WriteListener writeListener) {
+                }
+            };
+
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return outputStream;
+            }
+        };
+    }
+
+    static TokenRevocationStore revocationStore() throws Exception {
+        Path file = Files.createTempDirectory("auth-benchmark").resolve("revoked-tokens.log");
+        TokenRevocationStore store = new TokenRevocationStore(file.toString(), 100_000, 0.001);
+        store.load();
+        return store;
+    }
+}
@@ -0,0 +1,120 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One authenticated request through {@link JwtAuthenticationFilter}, in both {@code auth.jwt.use-db} modes
+ * and with the verified token cache on and off. The user lookup is served by an in-memory repository, so
+ * the {@code use-db} numbers exclude the database round trip but include the principal cache.
+ * Building the mock request and response is part of each operation.
+ * <p>
+ * {@code rejectForgedToken} is the same request with a tampered signature, which is never cached and
+ * ends in the pre-rendered 401 without the payload being parsed; {@code rejectExpiredToken} is a genuine
+ * token past its expiry, refused once the signature holds. Both should stay close to, or below,
+ * {@code doFilter} with the token cache off. On a single core the auth event writer thread, which renders
+ * a {@code TOKEN_REJECTED} record per rejection, competes with the benchmark thread.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean useDb;
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private TokenRevocationStore revocationStore;
+    private String authorization;
+    private String forgedAuthorization;
+    private String expiredAuthorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        JWTService jwtService = BenchmarkFixtures.jwtService(BenchmarkFixtures.keyRing("HS256"));
+        CustomUserDetails userDetails = new CustomUserDetails(BenchmarkFixtures.user("benchmark-user", Role.ROLE_USER));
+        CustomUserDetailsService userDetailsService =
+                new CustomUserDetailsService(BenchmarkFixtures.inMemoryUserRepository(userDetails.getUser()),
+                        BenchmarkFixtures.METRICS, BenchmarkFixtures.READ_YOUR_WRITES);
+        revocationStore = BenchmarkFixtures.revocationStore();
+
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                new VerifiedTokenCache(tokenCache, 100_000, 64L * 1024 * 1024),
+                revocationStore,
+                new AuthorityCache(),
+                new CachedUserDetailsService(userDetailsService, true, 60, 10_000),
+                BenchmarkFixtures.FAILURE_RESPONSES,
+                BenchmarkFixtures.FAILURE_LOG,
+                BenchmarkFixtures.METRICS,
+                BenchmarkFixtures.ROUTES,
+                BenchmarkFixtures.READ_YOUR_WRITES);
+        ReflectionTestUtils.setField(filter, "useDbBasedJwt", useDb);
+        authorization = "Bearer " + jwtService.generateJwtToken(userDetails);
+        char last = authorization.charAt(authorization.length() - 2);
+        forgedAuthorization = authorization.substring(0, authorization.length() - 2)
+                + (last == 'A' ? 'B' : 'A') + authorization.charAt(authorization.length() - 1);
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", -60L);
+        expiredAuthorization = "Bearer " + jwtService.generateJwtToken(userDetails);
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", BenchmarkFixtures.EXPIRATION_SECONDS);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        revocationStore.close();
+    }
+
+    @Benchmark
+    public Authentication doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/welcome");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        if (authentication == null) {
+            throw new IllegalStateException("Request was not authenticated: " + response.getContentAsString());
+        }
+        return authentication;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rejectForgedToken() throws Exception {
+        return reject(forgedAuthorization);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rejectExpiredToken() throws Exception {
+        return reject(expiredAuthorization);
+    }
+
+    private MockHttpServletResponse reject(String authorization) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/welcome");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        MockHttpServletResponse response = BenchmarkFixtures.response();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        if (response.getStatus() != 401) {
+            throw new IllegalStateException("Token was not rejected: " + response.getStatus());
+        }
+        return response;
+    }
+}
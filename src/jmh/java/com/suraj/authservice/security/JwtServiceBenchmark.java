@@ -0,0 +1,54 @@
+package com.suraj.authservice.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.suraj.authservice.entity.Role;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token minting, verification and roles claim parsing.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtServiceBenchmark {
+
+    @Param({"HS256", "ES256"})
+    public String algorithm;
+
+    private JWTService jwtService;
+    private JwtAuthenticationFilter filter;
+    private CustomUserDetails userDetails;
+    private String token;
+    private DecodedJWT decodedJWT;
+
+    @Setup
+    public void setUp() {
+        jwtService = BenchmarkFixtures.jwtService(BenchmarkFixtures.keyRing(algorithm));
+        filter = new JwtAuthenticationFilter(jwtService, null, null, new AuthorityCache(), null, null, null,
+                BenchmarkFixtures.METRICS, BenchmarkFixtures.ROUTES, BenchmarkFixtures.READ_YOUR_WRITES);
+        userDetails = new CustomUserDetails(BenchmarkFixtures.user("benchmark-user", Role.ROLE_USER));
+        token = jwtService.generateJwtToken(userDetails);
+        decodedJWT = jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public String generateJwtToken() {
+        return jwtService.generateJwtToken(userDetails);
+    }
+
+    @Benchmark
+    public DecodedJWT validateToken() {
+        return jwtService.validateToken(token);
+    }
+
+    @Benchmark
+    public List<?> extractAuthoritiesFromToken() {
+        return filter.extractAuthoritiesFromToken(decodedJWT);
+    }
+}
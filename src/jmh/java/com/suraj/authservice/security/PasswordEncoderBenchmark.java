@@ -0,0 +1,44 @@
+package com.suraj.authservice.security;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Password hashing and verification at the default work factors from application.yaml.
+ * Measured as time per operation, since each call is deliberately slow.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordEncoderBenchmark {
+
+    private static final String PASSWORD = "Password@123";
+
+    @Param({"bcrypt", "argon2"})
+    public String algorithm;
+
+    private CalibratedPasswordEncoder passwordEncoder;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = algorithm.equals("argon2")
+                ? CalibratedPasswordEncoder.argon2(19456, 2, 1)
+                : CalibratedPasswordEncoder.bcrypt(12);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public String encode() {
+        return passwordEncoder.encode(PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return passwordEncoder.matches(PASSWORD, encodedPassword);
+    }
+}
@@ -0,0 +1,118 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Concurrency ceiling of {@code use-db: true} authentication when every request blocks on a user lookup.
+ * <p>
+ * Each operation pushes a burst of {@code inFlight} requests through {@link JwtAuthenticationFilter} and waits
+ * for all of them. The user cache is off and the repository sleeps for {@code dbLatencyMillis}, standing in
+ * for a MySQL round trip. {@code platform} runs the burst on a fixed pool the size of Tomcat's default
+ * {@code server.tomcat.threads.max}, so time per burst grows with {@code inFlight / 200}; {@code virtual} runs
+ * one virtual thread per request and stays near a single round trip. Requests per second is
+ * {@code inFlight} divided by the score.
+ * <p>
+ * The {@code virtual} case needs a Java 21 runtime and fails its setup on older JVMs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RequestConcurrencyBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"200", "2000"})
+    public int inFlight;
+
+    @Param({"5"})
+    public long dbLatencyMillis;
+
+    private ExecutorService executor;
+    private JwtAuthenticationFilter filter;
+    private TokenRevocationStore revocationStore;
+    private String authorization;
+
+    @Setup
+    public void setUp() throws Exception {
+        executor = threads.equals("virtual")
+                ? newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+
+        JWTService jwtService = BenchmarkFixtures.jwtService(BenchmarkFixtures.keyRing("HS256"));
+        CustomUserDetails userDetails = new CustomUserDetails(BenchmarkFixtures.user("benchmark-user", Role.ROLE_USER));
+        CustomUserDetailsService userDetailsService = new CustomUserDetailsService(
+                BenchmarkFixtures.inMemoryUserRepository(dbLatencyMillis, userDetails.getUser()),
+                BenchmarkFixtures.METRICS, BenchmarkFixtures.READ_YOUR_WRITES);
+        revocationStore = BenchmarkFixtures.revocationStore();
+
+        filter = new JwtAuthenticationFilter(
+                jwtService,
+                new VerifiedTokenCache(true, 100_000, 64L * 1024 * 1024),
+                revocationStore,
+                new AuthorityCache(),
+                new CachedUserDetailsService(userDetailsService, false, 60, 10_000),
+                BenchmarkFixtures.FAILURE_RESPONSES,
+                BenchmarkFixtures.FAILURE_LOG,
+                BenchmarkFixtures.METRICS,
+                BenchmarkFixtures.ROUTES,
+                BenchmarkFixtures.READ_YOUR_WRITES);
+        ReflectionTestUtils.setField(filter, "useDbBasedJwt", true);
+        authorization = "Bearer " + jwtService.generateJwtToken(userDetails);
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        executor.shutdownNow();
+        revocationStore.close();
+    }
+
+    @Benchmark
+    public void burst() throws Exception {
+        List<Future<?>> requests = new ArrayList<>(inFlight);
+        for (int i = 0; i < inFlight; i++) {
+            requests.add(executor.submit(this::authenticate));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+    }
+
+    private Void authenticate() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/welcome");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return null;
+    }
+
+    // Looked up reflectively so the benchmarks still compile for the Java 17 baseline
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Virtual threads need a Java 21 runtime", e);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not create a virtual thread executor", e);
+        }
+    }
+}
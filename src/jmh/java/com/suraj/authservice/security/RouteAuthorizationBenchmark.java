@@ -0,0 +1,72 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import jakarta.servlet.http.HttpServletRequest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Authorization decision for a request that matches the last of {@code routes} declared rules:
+ * the compiled route trie, whose minimum-role rules compare role ordinals, against the pattern-by-pattern
+ * matching of {@code requestMatchers} with authority-name checks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RouteAuthorizationBenchmark {
+
+    @Param({"10", "100", "500"})
+    public int routes;
+
+    private RouteAuthorizationTable routeTable;
+    private AuthorizationManager<HttpServletRequest> requestMatchers;
+    private MockHttpServletRequest request;
+    private RequestAuthorizationContext context;
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() {
+        RouteAuthorizationTable.Builder routeTableBuilder = RouteAuthorizationTable.builder();
+        RequestMatcherDelegatingAuthorizationManager.Builder requestMatchersBuilder =
+                RequestMatcherDelegatingAuthorizationManager.builder();
+        for (int i = 0; i < routes; i++) {
+            String pattern = "/api/v1/resource" + i + "/**";
+            routeTableBuilder.atLeast(Role.ROLE_ADMIN, pattern);
+            requestMatchersBuilder.add(new AntPathRequestMatcher(pattern), AuthorityAuthorizationManager.hasRole("ADMIN"));
+        }
+        routeTable = routeTableBuilder.build();
+        requestMatchers = requestMatchersBuilder.build();
+
+        request = new MockHttpServletRequest("GET", "/api/v1/resource" + (routes - 1) + "/items/42");
+        request.setServletPath(request.getRequestURI());
+        context = new RequestAuthorizationContext(request);
+        Authentication admin = UsernamePasswordAuthenticationToken.authenticated(
+                "benchmark-admin", null, List.of(RoleAuthority.of(Role.ROLE_ADMIN)));
+        authentication = () -> admin;
+    }
+
+    @Benchmark
+    public AuthorizationDecision routeTable() {
+        return routeTable.check(authentication, context);
+    }
+
+    @Benchmark
+    public AuthorizationDecision requestMatchers() {
+        return requestMatchers.check(authentication, request);
+    }
+}
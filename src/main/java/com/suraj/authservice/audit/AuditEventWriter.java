@@ -0,0 +1,243 @@
+package com.suraj.authservice.audit;
+
+import com.suraj.authservice.entity.AuditEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind persistence of {@link AuditEvent}s to the {@code audit_events} table.
+ * <p>
+ * Callers only enqueue; a single background thread takes whatever has accumulated, up to
+ * {@code auth.audit.batch-size} events, and inserts it with one JDBC batch in its own transaction. Events
+ * recorded inside a transaction are enqueued after it commits, so a rolled-back change leaves no entry.
+ * <p>
+ * Nothing is dropped for lack of room: when the queue is full the caller waits up to
+ * {@code auth.audit.max-enqueue-wait-ms} and then writes the event itself, and on shutdown the queue is
+ * drained before the data source goes away. A batch that fails for a transient reason (lost connection,
+ * lock timeout) is retried as a whole; one the database refuses outright is written row by row, so a single
+ * bad event is logged and counted as rejected instead of holding up the ones behind it forever.
+ */
+@Slf4j
+@Component
+public class AuditEventWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_events (occurred_at, action, actor, target, old_value, new_value, reason) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final long POLL_MILLIS = 200;
+    private static final long MAX_RETRY_BACKOFF_MILLIS = 5000;
+    private static final int SHUTDOWN_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<AuditEvent> queue;
+    private final int batchSize;
+    private final long maxEnqueueWaitMillis;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder directWrites = new LongAdder();
+    private final LongAdder failedWrites = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public AuditEventWriter(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${auth.audit.queue-capacity:10000}") int queueCapacity,
+                            @Value("${auth.audit.batch-size:200}") int batchSize,
+                            @Value("${auth.audit.max-enqueue-wait-ms:500}") long maxEnqueueWaitMillis) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Also used from afterCommit callbacks, where the caller's transaction is finished but still bound
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxEnqueueWaitMillis = maxEnqueueWaitMillis;
+
+        this.writer = new Thread(this::drain, "audit-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records an event, after the current transaction commits if there is one.
+     */
+    public void record(AuditEvent event) {
+        recordAll(List.of(event));
+    }
+
+    /**
+     * Records several events at once, after the current transaction commits if there is one.
+     */
+    public void recordAll(List<AuditEvent> events) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(AuditEventWriter.this::enqueue);
+                }
+            });
+        } else {
+            events.forEach(this::enqueue);
+        }
+    }
+
+    public AuditStats stats() {
+        return new AuditStats(queue.size(), written.sum(), directWrites.sum(), failedWrites.sum(), rejected.sum());
+    }
+
+    private void enqueue(AuditEvent event) {
+        try {
+            if (running && queue.offer(event, maxEnqueueWaitMillis, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The writer is stopped or too far behind; write on this thread rather than lose the event
+        directWrites.increment();
+        try {
+            insert(List.of(event));
+            written.increment();
+        } catch (DataAccessException | TransactionException e) {
+            failedWrites.increment();
+            rejected.increment();
+            log.error("Failed to persist audit event {}", event, e);
+        }
+    }
+
+    // Writes batches until shutdown, then whatever is still queued
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            AuditEvent first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                continue;
+            }
+            if (first == null) {
+                continue;
+            }
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            writeBatch(batch);
+            batch.clear();
+        }
+    }
+
+    private void writeBatch(List<AuditEvent> batch) {
+        long backoffMillis = 100;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                insert(batch);
+                written.add(batch.size());
+                return;
+            } catch (DataAccessException | TransactionException e) {
+                failedWrites.increment();
+                if (!isTransient(e)) {
+                    writeIndividually(batch, e);
+                    return;
+                }
+                if (!running && attempt >= SHUTDOWN_ATTEMPTS) {
+                    // Last resort, so the entries at least reach the application log
+                    batch.forEach(event -> log.error("Audit event not persisted: {}", event));
+                    return;
+                }
+                log.warn("Failed to write {} audit events (attempt {}), retrying in {} ms: {}",
+                        batch.size(), attempt, backoffMillis, e.getMessage());
+            }
+            try {
+                Thread.sleep(backoffMillis);
+            } catch (InterruptedException e) {
+                // Only the retry delay is cut short
+            }
+            backoffMillis = Math.min(backoffMillis * 2, MAX_RETRY_BACKOFF_MILLIS);
+        }
+    }
+
+    // Retrying would fail the same way, so find the events the database refuses and let the rest through
+    private void writeIndividually(List<AuditEvent> batch, RuntimeException cause) {
+        if (batch.size() == 1) {
+            rejected.increment();
+            log.error("Audit event rejected by the database: {}", batch.get(0), cause);
+            return;
+        }
+        log.warn("Database refused a batch of {} audit events, writing them one by one: {}",
+                batch.size(), cause.getMessage());
+        // Each row still gets the transient retries of a batch
+        batch.forEach(event -> writeBatch(List.of(event)));
+    }
+
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void insert(List<AuditEvent> events) {
+        List<Object[]> rows = new ArrayList<>(events.size());
+        for (AuditEvent event : events) {
+            rows.add(new Object[]{
+                    Timestamp.from(event.getOccurredAt()),
+                    event.getAction().name(),
+                    event.getActor(),
+                    event.getTarget(),
+                    event.getOldValue(),
+                    event.getNewValue(),
+                    event.getReason()
+            });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        running = false;
+        writer.join();
+        // Events enqueued while the writer was finishing its last poll
+        List<AuditEvent> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            writeBatch(remaining);
+        }
+        log.info("Audit event writer stopped after writing {} events", written.sum());
+    }
+
+    /**
+     * Cumulative writer counters.
+     *
+     * @param queueDepth   events waiting to be written
+     * @param written      events inserted
+     * @param directWrites events the caller wrote itself because the queue stayed full
+     * @param failedWrites failed insert attempts, each retried except on a direct write
+     * @param rejected     events given up on: refused by the database or failed on a direct write
+     */
+    public record AuditStats(int queueDepth, long written, long directWrites, long failedWrites, long rejected) {
+    }
+}
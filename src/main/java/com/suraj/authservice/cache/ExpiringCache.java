@@ -0,0 +1,149 @@
+package com.suraj.authservice.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded, concurrent cache whose entries carry their own hard expiry.
+ * <p>
+ * Reads are a single {@link ConcurrentHashMap} lookup. Expired entries are dropped when they are read
+ * or when the cache goes over its entry or weight limit; in that case one thread trims the cache to
+ * 90% of its limits, removing expired entries first and then arbitrary ones, while other writers carry on.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class ExpiringCache<K, V> {
+
+    private static final double TRIM_RATIO = 0.9;
+
+    private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+
+    private final AtomicLong weight = new AtomicLong();
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maxEntries the maximum number of entries
+     * @param maxWeight  the maximum total weight of all entries, or 0 for no weight limit
+     * @param weigher    estimates the weight (approximate retained bytes) of a value
+     */
+    public ExpiringCache(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive");
+        }
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * Returns the cached value, or null if there is none or it has expired.
+     */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        if (entry.isExpiredAt(System.currentTimeMillis())) {
+            remove(key, entry);
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        return entry.value();
+    }
+
+    /**
+     * Caches a value until the given epoch millisecond.
+     */
+    public void put(K key, V value, long expiresAtMillis) {
+        Entry<V> entry = new Entry<>(value, expiresAtMillis, weigher.applyAsLong(value));
+        Entry<V> previous = entries.put(key, entry);
+        weight.addAndGet(previous == null ? entry.weight() : entry.weight() - previous.weight());
+
+        if (isOverLimit(maxEntries, maxWeight)) {
+            trim();
+        }
+    }
+
+    public void invalidate(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry != null) {
+            weight.addAndGet(-entry.weight());
+        }
+    }
+
+    public void invalidateAll() {
+        entries.keySet().forEach(this::invalidate);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size(), weight.get());
+    }
+
+    private boolean isOverLimit(long entryLimit, long weightLimit) {
+        return entries.size() > entryLimit || (weightLimit > 0 && weight.get() > weightLimit);
+    }
+
+    private void trim() {
+        if (!trimming.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long entryTarget = (long) (maxEntries * TRIM_RATIO);
+            long weightTarget = (long) (maxWeight * TRIM_RATIO);
+            long now = System.currentTimeMillis();
+
+            Iterator<Map.Entry<K, Entry<V>>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<K, Entry<V>> candidate = iterator.next();
+                if (candidate.getValue().isExpiredAt(now)) {
+                    remove(candidate.getKey(), candidate.getValue());
+                }
+            }
+
+            // Hash order is effectively random, so this evicts an arbitrary sample of live entries
+            iterator = entries.entrySet().iterator();
+            while (iterator.hasNext() && isOverLimit(entryTarget, weightTarget)) {
+                Map.Entry<K, Entry<V>> candidate = iterator.next();
+                remove(candidate.getKey(), candidate.getValue());
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private void remove(K key, Entry<V> entry) {
+        if (entries.remove(key, entry)) {
+            weight.addAndGet(-entry.weight());
+            evictions.increment();
+        }
+    }
+
+    private record Entry<V>(V value, long expiresAtMillis, long weight) {
+
+        boolean isExpiredAt(long nowMillis) {
+            return nowMillis >= expiresAtMillis;
+        }
+    }
+
+    /**
+     * Point-in-time cache counters.
+     *
+     * @param weight the estimated retained size of all entries, in bytes
+     */
+    public record CacheStats(long hits, long misses, long evictions, long size, long weight) {
+    }
+}
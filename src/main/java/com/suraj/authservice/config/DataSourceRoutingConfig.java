@@ -0,0 +1,85 @@
+package com.suraj.authservice.config;
+
+import com.suraj.authservice.datasource.ReadWriteRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces Boot's single pool with a primary pool ({@code spring.datasource}) and one pool per replica
+ * ({@code auth.datasource.routing.replicas}), behind a {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * Read-only transactions, which include the per-request user lookup of the JWT filter, go to the replicas;
+ * writes and everything outside a read-only transaction go to the primary. Every pool takes its settings
+ * from {@code spring.datasource.hikari} and reports {@code hikaricp.connections.*} under its own pool name.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "auth.datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(DataSourceRoutingProperties.class)
+public class DataSourceRoutingConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties properties,
+                                                                 DataSourceRoutingProperties routing,
+                                                                 Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry) {
+        Binder binder = Binder.get(environment);
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+
+        HikariDataSource primary = pool(properties, binder, registry, "primary",
+                properties.determineUrl(), properties.determineUsername(), properties.determinePassword());
+        List<DataSource> replicas = new ArrayList<>();
+        for (DataSourceRoutingProperties.Replica replica : routing.replicas()) {
+            replicas.add(pool(properties, binder, registry, "replica-" + (replicas.size() + 1),
+                    replica.url(),
+                    replica.username() != null ? replica.username() : properties.determineUsername(),
+                    replica.password() != null ? replica.password() : properties.determinePassword()));
+        }
+        if (replicas.isEmpty()) {
+            log.warn("Data source routing is enabled without replicas; all traffic goes to the primary");
+        } else {
+            log.info("Routing read-only transactions to {} replica(s)", replicas.size());
+        }
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    // The routing decision needs the transaction's read-only flag, which is only known after it has begun
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(DataSourceProperties properties, Binder binder, MeterRegistry registry,
+                                         String poolName, String url, String username, String password) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(poolName);
+        if (registry != null) {
+            dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+        }
+        return dataSource;
+    }
+}
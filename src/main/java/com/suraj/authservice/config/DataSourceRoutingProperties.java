@@ -0,0 +1,23 @@
+package com.suraj.authservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * Replica pools for {@link DataSourceRoutingConfig}, bound from {@code auth.datasource.routing}.
+ * The primary is the regular {@code spring.datasource}.
+ *
+ * @param enabled  whether read-only transactions are routed to the replicas
+ * @param replicas read replicas of the primary; username and password default to the primary's
+ */
+@ConfigurationProperties("auth.datasource.routing")
+public record DataSourceRoutingProperties(boolean enabled, List<Replica> replicas) {
+
+    public DataSourceRoutingProperties {
+        replicas = replicas != null ? List.copyOf(replicas) : List.of();
+    }
+
+    public record Replica(String url, String username, String password) {
+    }
+}
@@ -0,0 +1,125 @@
+package com.suraj.authservice.config;
+
+import com.suraj.authservice.audit.AuditEventWriter;
+import com.suraj.authservice.cache.ExpiringCache;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
+import com.suraj.authservice.security.CachedUserDetailsService;
+import com.suraj.authservice.security.PasswordHashingExecutor;
+import com.suraj.authservice.security.VerifiedTokenCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Exposes the counters that the caches, the password hashing executor, the auth event log and the audit writer
+ * already keep as meters, read at scrape time. Connection pool gauges ({@code hikaricp.connections.*}) come
+ * from Spring Boot's own HikariCP binding.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder cacheMetrics(VerifiedTokenCache verifiedTokenCache,
+                                    CachedUserDetailsService cachedUserDetailsService) {
+        return registry -> {
+            bindCache(registry, "token", verifiedTokenCache, VerifiedTokenCache::stats);
+            bindCache(registry, "user", cachedUserDetailsService, CachedUserDetailsService::stats);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordHashingExecutorMetrics(PasswordHashingExecutor executor) {
+        return registry -> {
+            Gauge.builder("auth.password.hashing.queue.depth", executor, e -> e.stats().queueDepth())
+                    .description("Password hashing tasks waiting for a thread")
+                    .register(registry);
+            Gauge.builder("auth.password.hashing.active", executor, e -> e.stats().active())
+                    .description("Password hashing tasks currently running")
+                    .register(registry);
+            FunctionCounter.builder("auth.password.hashing.rejected", executor, e -> e.stats().rejected())
+                    .description("Password hashing tasks shed because the queue was full or the wait too long")
+                    .register(registry);
+            FunctionTimer.builder("auth.password.hashing.queue.wait", executor,
+                            e -> e.stats().completed(), e -> e.stats().totalWaitNanos(), TimeUnit.NANOSECONDS)
+                    .description("Time completed password hashing tasks spent queued")
+                    .register(registry);
+            FunctionTimer.builder("auth.password.hashing.execution", executor,
+                            e -> e.stats().completed(), e -> e.stats().totalHashNanos(), TimeUnit.NANOSECONDS)
+                    .description("Time completed password hashing tasks spent hashing on an executor thread")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder authEventMetrics(AuthEventLog authEventLog) {
+        return registry -> {
+            for (AuthEventType type : AuthEventType.values()) {
+                FunctionCounter.builder("auth.events.published", authEventLog, l -> l.stats(type).published())
+                        .description("Auth events queued for the structured event log")
+                        .tag("type", type.tag())
+                        .register(registry);
+                FunctionCounter.builder("auth.events.sampled.out", authEventLog, l -> l.stats(type).sampledOut())
+                        .description("Auth events skipped by sampling")
+                        .tag("type", type.tag())
+                        .register(registry);
+                FunctionCounter.builder("auth.events.dropped", authEventLog, l -> l.stats(type).dropped())
+                        .description("Auth events lost because the event buffer was full")
+                        .tag("type", type.tag())
+                        .register(registry);
+            }
+            Gauge.builder("auth.events.queue.depth", authEventLog, AuthEventLog::queueDepth)
+                    .description("Auth events waiting to be written")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder auditWriterMetrics(AuditEventWriter auditEventWriter) {
+        return registry -> {
+            Gauge.builder("auth.audit.queue.depth", auditEventWriter, w -> w.stats().queueDepth())
+                    .description("Audit events waiting to be written")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.written", auditEventWriter, w -> w.stats().written())
+                    .description("Audit events inserted into the audit trail")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.direct.writes", auditEventWriter, w -> w.stats().directWrites())
+                    .description("Audit events written by the caller because the queue stayed full")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.write.failures", auditEventWriter, w -> w.stats().failedWrites())
+                    .description("Failed audit event insert attempts")
+                    .register(registry);
+            FunctionCounter.builder("auth.audit.rejected", auditEventWriter, w -> w.stats().rejected())
+                    .description("Audit events that could not be persisted")
+                    .register(registry);
+        };
+    }
+
+    // Meters hold their state object weakly, so bind to the long-lived owner rather than a method reference
+    private static <T> void bindCache(MeterRegistry registry, String cache, T owner,
+                                      Function<T, ExpiringCache.CacheStats> stats) {
+        FunctionCounter.builder("auth.cache.hits", owner, o -> stats.apply(o).hits())
+                .tag("cache", cache)
+                .register(registry);
+        FunctionCounter.builder("auth.cache.misses", owner, o -> stats.apply(o).misses())
+                .tag("cache", cache)
+                .register(registry);
+        FunctionCounter.builder("auth.cache.evictions", owner, o -> stats.apply(o).evictions())
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("auth.cache.size", owner, o -> stats.apply(o).size())
+                .tag("cache", cache)
+                .register(registry);
+        Gauge.builder("auth.cache.weight", owner, o -> stats.apply(o).weight())
+                .tag("cache", cache)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
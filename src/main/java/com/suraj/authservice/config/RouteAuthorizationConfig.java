@@ -0,0 +1,41 @@
+package com.suraj.authservice.config;
+
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.security.RouteAuthorizationTable;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Who may call which route. Compiled once at startup and shared by the authorization rules in
+ * {@link SecurityConfig} and the JWT filter, which skips public routes entirely.
+ */
+@Configuration
+public class RouteAuthorizationConfig {
+
+    private static final String[] WHITE_LIST_URLS = {
+            "/api/v1/auth/**",
+            "/.well-known/jwks.json",
+            "/actuator/health",
+            "/actuator/prometheus",  // only served on management.server.port, never on the application port
+            "/v3/api-docs/**",
+            "/v3/api-docs.yaml",
+            "/swagger-ui/**",
+            "/swagger-ui.html",
+            "/swagger-resources/**",
+            "/webjars/**"
+    };
+
+    @Bean
+    public RouteAuthorizationTable routeAuthorizationTable() {
+        // Most specific pattern wins, independent of the order below; anything else requires authentication.
+        // Role tiers follow the RoleAuthorization hierarchy, so each tier admits every role above it.
+        return RouteAuthorizationTable.builder()
+                .permitAll(WHITE_LIST_URLS)
+                .atLeast(Role.ROLE_ADMIN, "/api/v1/admin/**", "/api/v1/welcome/admin") // Admin endpoints require ADMIN role
+                .atLeast(Role.ROLE_MANAGER, "/api/v1/welcome/manager")
+                .atLeast(Role.ROLE_SUPERVISOR, "/api/v1/welcome/supervisor")
+                .atLeast(Role.ROLE_MODERATOR, "/api/v1/welcome/moderator")
+                .authenticated("/api/v1/welcome/user") // Any authenticated user can access
+                .build();
+    }
+}
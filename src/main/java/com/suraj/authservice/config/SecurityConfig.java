@@ -1,16 +1,27 @@
 package com.suraj.authservice.config;
 
 
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.security.CalibratedPasswordEncoder;
 import com.suraj.authservice.security.JwtAuthenticationFilter;
+import com.suraj.authservice.security.OffloadingPasswordEncoder;
+import com.suraj.authservice.security.PasswordEncoderCalibrator;
+import com.suraj.authservice.security.PasswordHashingExecutor;
+import com.suraj.authservice.security.RehashingAuthenticationProvider;
+import com.suraj.authservice.security.RoleAuthorization;
+import com.suraj.authservice.security.RouteAuthorizationTable;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
+import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -29,31 +40,17 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final PasswordEncoderCalibrator passwordEncoderCalibrator;
+    private final AuthMetrics authMetrics;
+    private final RouteAuthorizationTable routeAuthorizationTable;
 
-    private static final String[] WHITE_LIST_URLS = {
-            "/api/v1/auth/**",
-            "/v3/api-docs/**",
-            "/v3/api-docs.yaml",
-            "/swagger-ui/**",
-            "/swagger-ui.html",
-            "/swagger-resources/**",
-            "/webjars/**"
-    };
-    
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF for REST APIs
-                .authorizeHttpRequests(auth -> auth
-                        .requestMatchers(WHITE_LIST_URLS).permitAll()
-                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN") // Admin endpoints require ADMIN role
-                        .requestMatchers("/api/v1/welcome/admin").hasRole("ADMIN")
-                        .requestMatchers("/api/v1/welcome/manager").hasAnyRole("ADMIN", "MANAGER")
-                        .requestMatchers("/api/v1/welcome/supervisor").hasAnyRole("ADMIN", "MANAGER", "SUPERVISOR")
-                        .requestMatchers("/api/v1/welcome/moderator").hasAnyRole("ADMIN", "MANAGER", "SUPERVISOR", "MODERATOR")
-                        .requestMatchers("/api/v1/welcome/user").authenticated() // Any authenticated user can access
-                        .anyRequest().authenticated()
-                )
+                // One trie lookup per request instead of trying each pattern in turn; rules in RouteAuthorizationConfig
+                .authorizeHttpRequests(auth -> auth.anyRequest().access(routeAuthorizationTable))
                 .sessionManagement(session ->
                         session.sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 )
@@ -63,16 +60,42 @@ public class SecurityConfig {
                 .build();
     }
 
+    /**
+     * Lets {@code hasRole} in method security honour the {@link RoleAuthorization} hierarchy; Spring Security
+     * 6.2 does not apply a {@code RoleHierarchy} bean to {@code @PreAuthorize} on its own. Static so the
+     * method-security infrastructure can be created before this configuration's dependencies.
+     */
+    @Bean
+    static MethodSecurityExpressionHandler methodSecurityExpressionHandler(RoleHierarchy roleHierarchy) {
+        DefaultMethodSecurityExpressionHandler expressionHandler = new DefaultMethodSecurityExpressionHandler();
+        expressionHandler.setRoleHierarchy(roleHierarchy);
+        return expressionHandler;
+    }
+
     @Bean
+    @Primary
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+        // Hashing runs on a bounded pool so login bursts cannot tie up every request thread
+        return new OffloadingPasswordEncoder(calibratedPasswordEncoder(), passwordHashingExecutor, authMetrics);
+    }
+
+    /**
+     * The encoder that does the actual hashing on the calling thread, for batch work such as
+     * user imports that manages its own parallelism.
+     */
+    @Bean
+    public CalibratedPasswordEncoder calibratedPasswordEncoder() {
+        return passwordEncoderCalibrator.build();
     }
 
     @Bean
     public AuthenticationProvider authenticationProvider() {
-        DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
+        DaoAuthenticationProvider authProvider = new RehashingAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
         authProvider.setPasswordEncoder(passwordEncoder());
+        // Re-hash on successful login when the stored hash doesn't match the current target parameters,
+        // unless the hashing pool is saturated
+        authProvider.setUserDetailsPasswordService(userDetailsService);
         return authProvider;
     }
 
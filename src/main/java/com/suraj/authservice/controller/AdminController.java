@@ -1,19 +1,37 @@
 package com.suraj.authservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.suraj.authservice.dto.ApiResponse;
+import com.suraj.authservice.dto.AuditEventPage;
+import com.suraj.authservice.dto.BulkRoleChangeRequest;
+import com.suraj.authservice.dto.BulkRoleChangeResult;
+import com.suraj.authservice.dto.KeyRotationRequest;
 import com.suraj.authservice.dto.RoleChangeRequest;
+import com.suraj.authservice.dto.UserPage;
+import com.suraj.authservice.dto.UserSummary;
+import com.suraj.authservice.entity.Role;
 import com.suraj.authservice.service.AdminService;
+import com.suraj.authservice.service.AuditService;
+import com.suraj.authservice.service.UserImportService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+
 /**
  * REST controller for administrative operations.
  * All endpoints in this controller require ADMIN role.
@@ -26,7 +44,78 @@ import org.springframework.web.bind.annotation.*;
 @SecurityRequirement(name = "bearerAuth")
 public class AdminController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final AdminService adminService;
+    private final UserImportService userImportService;
+    private final AuditService auditService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Endpoint to list users, newest first.
+     * Only accessible to administrators.
+     *
+     * @param role   Optional role to filter by
+     * @param search Optional username prefix
+     * @param before Optional cursor returned as nextCursor by the previous page
+     * @param limit  Page size
+     * @return ResponseEntity with one page of users
+     */
+    @GetMapping("/users")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    @Operation(
+            summary = "List users",
+            description = "Lists users newest first, optionally filtered by role and username prefix. " +
+                    "Pass nextCursor as before to fetch the next page. Password hashes are never returned."
+    )
+    public ResponseEntity<ApiResponse<UserPage>> listUsers(
+            @Parameter(description = "Only users with this role")
+            @RequestParam(required = false) Role role,
+            @Parameter(description = "Only usernames starting with this prefix")
+            @RequestParam(required = false) String search,
+            @Parameter(description = "nextCursor of the previous page")
+            @RequestParam(required = false) String before,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "50") int limit) {
+
+        UserPage page = adminService.listUsers(role, search, before, limit);
+
+        ApiResponse<UserPage> response = new ApiResponse<>(
+                200,
+                true,
+                "Users retrieved successfully",
+                page
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to inspect a single user.
+     * Only accessible to administrators.
+     *
+     * @param username The username of the user
+     * @return ResponseEntity with the user
+     */
+    @GetMapping("/users/{username}")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Get user",
+            description = "Returns a single user by username. The password hash is never returned."
+    )
+    public ResponseEntity<ApiResponse<UserSummary>> getUser(
+            @Parameter(description = "Username of the user", required = true)
+            @PathVariable String username) {
+
+        ApiResponse<UserSummary> response = new ApiResponse<>(
+                200,
+                true,
+                "User retrieved successfully",
+                adminService.getUser(username)
+        );
+
+        return ResponseEntity.ok(response);
+    }
 
     /**
      * Endpoint to change a user's role.
@@ -36,7 +125,7 @@ public class AdminController {
      * @return ResponseEntity with the result of the operation
      */
     @PutMapping("/users/role")
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
     @Operation(
             summary = "Change user role",
             description = "Allows administrators to upgrade or downgrade a user's role. " +
@@ -60,6 +149,156 @@ public class AdminController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Endpoint to change the role of many users at once.
+     * Only accessible to administrators.
+     *
+     * @param request The usernames or current role to select users by, and the new role
+     * @return ResponseEntity with the outcome for every selected user
+     */
+    @PutMapping("/users/role/bulk")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Change the role of many users",
+            description = "Changes the role of the listed users, or of every user with currentRole, in one " +
+                    "transaction. Each change is audited; administrators' own accounts are skipped."
+    )
+    public ResponseEntity<ApiResponse<BulkRoleChangeResult>> changeUserRoles(
+            @Parameter(description = "Bulk role change details", required = true)
+            @Valid @RequestBody BulkRoleChangeRequest request) {
+
+        log.debug("Bulk role change request received for role: {}", request.newRole());
+
+        BulkRoleChangeResult result = adminService.changeUserRoles(request);
+
+        ApiResponse<BulkRoleChangeResult> response = new ApiResponse<>(
+                200,
+                true,
+                "Roles updated successfully",
+                result
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to rotate the JWT signing key without a restart.
+     * Only accessible to administrators.
+     *
+     * @param request The key rotation request containing the new key id and optional secret
+     * @return ResponseEntity with the result of the operation
+     */
+    @PostMapping("/keys/rotate")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Rotate JWT signing key",
+            description = "Adds a new signing key to the key ring. Tokens signed with the previous key stay " +
+                    "valid until they expire. Set activate=false to stage the key for verification only. " +
+                    "Keys are persisted to jwt.key-store-file and survive a restart; other instances sharing " +
+                    "that file pick the key up within jwt.key-store-reload-interval-ms, so stage first and " +
+                    "activate after that interval. Without the file, rotated keys are lost on restart."
+    )
+    public ResponseEntity<ApiResponse<String>> rotateSigningKey(
+            @Parameter(description = "Key rotation details", required = true)
+            @Valid @RequestBody KeyRotationRequest request) {
+
+        log.debug("Signing key rotation request received for key: {}", request.keyId());
+
+        String result = adminService.rotateSigningKey(request);
+
+        ApiResponse<String> response = new ApiResponse<>(
+                200,
+                true,
+                "Signing key rotated successfully",
+                result
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Endpoint to import users in bulk.
+     * Only accessible to administrators.
+     * <p>
+     * The body is read as a stream, one NDJSON object or CSV row per line, and the response streams back
+     * one NDJSON event per failed row, one per committed batch and a final summary.
+     *
+     * @param request  The request whose body holds the users to import
+     * @param response The response the import events are written to
+     */
+    @PostMapping(value = "/users/import", consumes = {NDJSON, "text/csv"}, produces = NDJSON)
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Import users in bulk",
+            description = "Streams users from an NDJSON or CSV body (with a header row) into the users table. " +
+                    "Each row carries either a plain password, which is hashed on import, or a passwordHash. " +
+                    "Per-row failures and progress are streamed back as NDJSON events."
+    )
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        log.debug("User import request received in {} format", format);
+
+        response.setContentType(NDJSON);
+        OutputStream output = response.getOutputStream();
+        userImportService.importUsers(request.getInputStream(), format, event -> {
+            try {
+                output.write(objectMapper.writeValueAsBytes(event));
+                output.write('\n');
+                output.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Endpoint to query the audit trail of administrative operations.
+     * Only accessible to administrators.
+     *
+     * @param actor  Optional username of the administrator who performed the operation
+     * @param target Optional username or key id the operation was applied to
+     * @param from   Optional inclusive lower bound of the event time
+     * @param to     Optional exclusive upper bound of the event time
+     * @param before Optional cursor returned as nextCursor by the previous page
+     * @param limit  Page size
+     * @return ResponseEntity with one page of audit events, newest first
+     */
+    @GetMapping("/audit-events")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    @Operation(
+            summary = "Query audit trail",
+            description = "Returns role changes and key rotations, newest first, filtered by actor, target and " +
+                    "time range. Pass nextCursor as before to fetch the next page."
+    )
+    public ResponseEntity<ApiResponse<AuditEventPage>> getAuditEvents(
+            @Parameter(description = "Administrator who performed the operation")
+            @RequestParam(required = false) String actor,
+            @Parameter(description = "Username or key id the operation was applied to")
+            @RequestParam(required = false) String target,
+            @Parameter(description = "Inclusive lower bound, ISO-8601 instant", example = "2024-01-01T00:00:00Z")
+            @RequestParam(required = false) Instant from,
+            @Parameter(description = "Exclusive upper bound, ISO-8601 instant")
+            @RequestParam(required = false) Instant to,
+            @Parameter(description = "nextCursor of the previous page")
+            @RequestParam(required = false) Long before,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "50") int limit) {
+
+        AuditEventPage page = auditService.findAuditEvents(actor, target, from, to, before, limit);
+
+        ApiResponse<AuditEventPage> response = new ApiResponse<>(
+                200,
+                true,
+                "Audit events retrieved successfully",
+                page
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     /**
      * Get information about the role change system.
      * This endpoint is for informational purposes.
@@ -67,7 +306,7 @@ public class AdminController {
      * @return ResponseEntity with information about available roles
      */
     @GetMapping("/roles/info")
-    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
     @Operation(
             summary = "Get role system information",
             description = "Provides information about the available roles and role management capabilities"
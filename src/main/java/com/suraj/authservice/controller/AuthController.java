@@ -2,16 +2,22 @@ package com.suraj.authservice.controller;
 
 import com.suraj.authservice.dto.ApiResponse;
 import com.suraj.authservice.dto.LoginRequest;
+import com.suraj.authservice.dto.RefreshTokenRequest;
 import com.suraj.authservice.dto.RegisterRequest;
+import com.suraj.authservice.dto.TokenResponse;
+import com.suraj.authservice.security.AuthRateLimiter;
 import com.suraj.authservice.service.AuthService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -24,10 +30,13 @@ import java.util.Map;
 public class AuthController {
     
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
     
     @PostMapping("/register")
     @Operation(summary = "Register a new user", description = "Registers a new user with username, email, phone, and password")
-    public ResponseEntity<ApiResponse<String>> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<ApiResponse<String>> register(@Valid @RequestBody RegisterRequest request,
+                                                        HttpServletRequest httpRequest) {
+        authRateLimiter.checkRegistration(request.username(), httpRequest.getRemoteAddr());
         String message = authService.register(request);
         ApiResponse<String> response = new ApiResponse<>(
                 HttpStatus.CREATED.value(),
@@ -39,10 +48,13 @@ public class AuthController {
     }
     
     @PostMapping("/login")
-    @Operation(summary = "Login a user", description = "Authenticates a user with username and password and returns a JWT token")
-    public ResponseEntity<ApiResponse<String>> login(@Valid @RequestBody LoginRequest request) {
-        String authData = authService.login(request);
-        ApiResponse<String> response = new ApiResponse<>(
+    @Operation(summary = "Login a user", description = "Authenticates a user with username and password and returns a JWT access token and a refresh token")
+    public ResponseEntity<ApiResponse<TokenResponse>> login(@Valid @RequestBody LoginRequest request,
+                                                            HttpServletRequest httpRequest) {
+        // Before any lookup or hashing, so a flood of attempts costs no more than this check
+        authRateLimiter.checkLogin(request.username(), httpRequest.getRemoteAddr());
+        TokenResponse authData = authService.login(request, httpRequest.getRemoteAddr());
+        ApiResponse<TokenResponse> response = new ApiResponse<>(
                 HttpStatus.OK.value(),
                 true,
                 "Authentication Successful",
@@ -50,4 +62,37 @@ public class AuthController {
         );
         return ResponseEntity.ok(response);
     }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh an access token", description = "Exchanges a single-use refresh token for a new access token and refresh token")
+    public ResponseEntity<ApiResponse<TokenResponse>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        TokenResponse authData = authService.refresh(request);
+        ApiResponse<TokenResponse> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                true,
+                "Token Refresh Successful",
+                authData
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/logout")
+    @Operation(summary = "Logout a user", description = "Revokes the refresh token family sent in the body, and the bearer token sent in the Authorization header until it expires. The refresh token is revoked even when the bearer token has already expired.")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request,
+            HttpServletRequest httpRequest) {
+        String token = (authorization != null && authorization.startsWith("Bearer "))
+                ? authorization.substring(7)
+                : null;
+        String message = authService.logout(token, request != null ? request.refreshToken() : null,
+                httpRequest.getRemoteAddr());
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.OK.value(),
+                true,
+                "Logout Successful",
+                message
+        );
+        return ResponseEntity.ok(response);
+    }
 }
\ No newline at end of file
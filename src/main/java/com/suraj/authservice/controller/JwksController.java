@@ -0,0 +1,51 @@
+package com.suraj.authservice.controller;
+
+import com.suraj.authservice.security.JwtKeyRing;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Duration;
+
+/**
+ * Publishes the public signing keys as a JSON Web Key Set so other services can verify
+ * tokens offline. The document is rendered once per key change and served with an ETag.
+ */
+@RestController
+@RequiredArgsConstructor
+@Tag(name = "Key Discovery", description = "Public keys for verifying issued JWTs")
+public class JwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Value("${jwt.jwks.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Get JSON Web Key Set", description = "Returns the public keys used to sign JWTs (empty for HS256)")
+    public ResponseEntity<byte[]> jwks(WebRequest webRequest) {
+        JwtKeyRing.JsonWebKeySet jsonWebKeySet = jwtKeyRing.jsonWebKeySet();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+
+        if (webRequest.checkNotModified(jsonWebKeySet.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jsonWebKeySet.eTag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jsonWebKeySet.eTag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonWebKeySet.json());
+    }
+}
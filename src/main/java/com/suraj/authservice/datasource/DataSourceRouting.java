@@ -0,0 +1,52 @@
+package com.suraj.authservice.datasource;
+
+/**
+ * Per-thread override of the read/write routing done by {@link ReadWriteRoutingDataSource}.
+ * <p>
+ * Read-only transactions normally go to a replica; inside a {@link #forcePrimary()} scope they go to the
+ * primary, for reads that must see a write the replicas may not have applied yet.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    private static final Scope NO_OP = () -> {
+    };
+
+    private DataSourceRouting() {
+    }
+
+    /**
+     * Sends every connection obtained on this thread to the primary until the returned scope is closed.
+     * Scopes nest; closing one restores the routing that was in effect when it was opened.
+     */
+    public static Scope forcePrimary() {
+        Boolean previous = PRIMARY_FORCED.get();
+        if (previous != null) {
+            return NO_OP;
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        return PRIMARY_FORCED::remove;
+    }
+
+    /**
+     * A scope that changes nothing, for callers that only sometimes need {@link #forcePrimary()}.
+     */
+    public static Scope unchanged() {
+        return NO_OP;
+    }
+
+    public static boolean isPrimaryForced() {
+        return PRIMARY_FORCED.get() != null;
+    }
+
+    /**
+     * An open routing override, closed with try-with-resources.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
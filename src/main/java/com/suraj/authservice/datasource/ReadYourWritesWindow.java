@@ -0,0 +1,63 @@
+package com.suraj.authservice.datasource;
+
+import com.suraj.authservice.cache.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+
+/**
+ * Remembers, for a few seconds, which users just changed data or had their data changed, so their own
+ * requests read from the primary until the replicas have caught up.
+ * <p>
+ * Without this, a user whose role was just changed could be loaded from a lagging replica right after
+ * the user cache dropped them, and the old role would be cached again. Inert unless
+ * {@code auth.datasource.routing.enabled} is set.
+ * <p>
+ * The window is local to this instance and is not shared: a write seen here pins the user to the primary
+ * here only. Deployments with several instances need the load balancer to send each user's requests to
+ * one instance (sticky by user, e.g. hashing the bearer token's subject). Otherwise a request landing
+ * elsewhere reads from the replicas as if no window were open, and sees at most the replicas' lag.
+ */
+@Component
+public class ReadYourWritesWindow {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final ExpiringCache<String, Boolean> recentWriters;
+
+    public ReadYourWritesWindow(@Value("${auth.datasource.routing.enabled:false}") boolean enabled,
+                                @Value("${auth.datasource.routing.read-your-writes-seconds:5}") long windowSeconds,
+                                @Value("${auth.datasource.routing.max-tracked-users:100000}") int maxTrackedUsers) {
+        this.enabled = enabled && windowSeconds > 0;
+        this.windowMillis = windowSeconds * 1000;
+        this.recentWriters = new ExpiringCache<>(maxTrackedUsers, 0, value -> 0);
+    }
+
+    /**
+     * Starts (or extends) the window in which this user's requests read from the primary.
+     *
+     * @param username the user who wrote, or whose data was written
+     */
+    public void recordWrite(String username) {
+        if (enabled && username != null) {
+            recentWriters.put(key(username), Boolean.TRUE, System.currentTimeMillis() + windowMillis);
+        }
+    }
+
+    public boolean isActive(String username) {
+        return enabled && username != null && recentWriters.get(key(username)) != null;
+    }
+
+    /**
+     * Opens a {@link DataSourceRouting#forcePrimary()} scope if the user is inside their window.
+     */
+    public DataSourceRouting.Scope scopeFor(String username) {
+        return isActive(username) ? DataSourceRouting.forcePrimary() : DataSourceRouting.unchanged();
+    }
+
+    // Matches the case-insensitive collation of the users table
+    private static String key(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,19 @@
+package com.suraj.authservice.dto;
+
+import com.suraj.authservice.entity.AuditEvent;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * One page of audit events, newest first.
+ * Pass {@code nextCursor} as {@code before} to fetch the following page; it is null on the last page.
+ */
+@Schema(description = "Page of audit events, newest first")
+public record AuditEventPage(
+        @Schema(description = "Audit events on this page")
+        List<AuditEvent> events,
+
+        @Schema(description = "Cursor for the next page, or null if this is the last one", example = "1042")
+        Long nextCursor
+) {}
@@ -0,0 +1,32 @@
+package com.suraj.authservice.dto;
+
+import com.suraj.authservice.entity.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object (DTO) for bulk role change requests.
+ * Selects the users either by username or by their current role, never both.
+ */
+@Schema(description = "Request object for changing the role of many users at once")
+public record BulkRoleChangeRequest(
+    @Size(max = 10000, message = "At most 10000 usernames per request")
+    @Schema(description = "Usernames of the users whose role will be changed", example = "[\"johndoe\", \"janedoe\"]")
+    List<@NotBlank(message = "Usernames must not be blank") String> usernames,
+
+    @Schema(description = "Change every user that currently has this role instead of listing usernames",
+            example = "ROLE_MODERATOR")
+    Role currentRole,
+
+    @NotNull(message = "New role is required")
+    @Schema(description = "New role to assign to the users", example = "ROLE_SUPERVISOR")
+    Role newRole,
+
+    @Size(max = 500, message = "Reason must be at most 500 characters")
+    @Schema(description = "Optional reason for the role change", example = "Department re-tiering")
+    String reason
+) {}
@@ -0,0 +1,45 @@
+package com.suraj.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.suraj.authservice.entity.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * Result of a bulk role change: totals per status and the outcome for every selected user.
+ */
+@Schema(description = "Result of a bulk role change")
+public record BulkRoleChangeResult(
+        int changed,
+        int unchanged,
+        int notFound,
+        int rejected,
+        List<Outcome> outcomes
+) {
+
+    public enum Status {
+        /** The role was changed. */
+        CHANGED,
+        /** The user already had the new role. */
+        UNCHANGED,
+        /** No user with this username exists. */
+        NOT_FOUND,
+        /** The change is not allowed, such as an administrator changing their own role. */
+        REJECTED
+    }
+
+    /**
+     * What happened to one user.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public record Outcome(String username, Status status, Role oldRole, Role newRole, String message) {
+    }
+
+    public static BulkRoleChangeResult of(List<Outcome> outcomes) {
+        int[] counts = new int[Status.values().length];
+        outcomes.forEach(outcome -> counts[outcome.status().ordinal()]++);
+        return new BulkRoleChangeResult(counts[Status.CHANGED.ordinal()], counts[Status.UNCHANGED.ordinal()],
+                counts[Status.NOT_FOUND.ordinal()], counts[Status.REJECTED.ordinal()], outcomes);
+    }
+}
@@ -0,0 +1,25 @@
+package com.suraj.authservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Data Transfer Object (DTO) for signing key rotation requests.
+ * Used when an administrator adds a new JWT signing key to the key ring.
+ */
+@Schema(description = "Request object for rotating the JWT signing key")
+public record KeyRotationRequest(
+    @NotBlank(message = "Key id is required")
+    @Size(max = 64, message = "Key id must be at most 64 characters")
+    @Schema(description = "Key id (kid header) of the new signing key", example = "2024-06")
+    String keyId,
+
+    @Size(min = 32, message = "Secret must be at least 32 characters")
+    @Schema(description = "Optional HMAC secret; a random 256-bit secret is generated when omitted")
+    String secret,
+
+    @Schema(description = "Whether the key starts signing immediately (true) or is only staged for verification (false)",
+            example = "true", defaultValue = "true")
+    Boolean activate
+) {}
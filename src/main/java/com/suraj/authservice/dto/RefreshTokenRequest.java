@@ -0,0 +1,16 @@
+package com.suraj.authservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for refresh token requests.
+ * Carries the opaque refresh token issued at login or by the previous refresh.
+ */
+@Schema(description = "Request object for exchanging a refresh token")
+public record RefreshTokenRequest(
+        @NotBlank(message = "Refresh token is required")
+        @Schema(description = "Refresh token issued by login or the previous refresh")
+        String refreshToken
+) {
+}
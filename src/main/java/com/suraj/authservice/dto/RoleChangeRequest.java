@@ -4,6 +4,7 @@ import com.suraj.authservice.entity.Role;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import org.springframework.stereotype.Component;
 
 /**
@@ -20,6 +21,7 @@ public record RoleChangeRequest(
     @Schema(description = "New role to assign to the user", example = "ROLE_ADMIN")
     Role newRole,
     
+    @Size(max = 500, message = "Reason must be at most 500 characters")
     @Schema(description = "Optional reason for the role change", example = "Promotion based on performance")
     String reason
 ) {}
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.suraj.authservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * Data Transfer Object returned by login and refresh.
+ * The refresh token is single use; every refresh returns the one to send next time.
+ */
+@Schema(description = "Access and refresh token pair")
+public record TokenResponse(
+        @Schema(description = "Short-lived JWT to send as a bearer token")
+        String accessToken,
+
+        @Schema(description = "Opaque single-use token for /api/v1/auth/refresh")
+        String refreshToken,
+
+        @Schema(description = "Token type", example = "Bearer")
+        String tokenType,
+
+        @Schema(description = "Access token lifetime in seconds", example = "900")
+        long expiresIn
+) {
+    public TokenResponse(String accessToken, String refreshToken, long expiresIn) {
+        this(accessToken, refreshToken, "Bearer", expiresIn);
+    }
+}
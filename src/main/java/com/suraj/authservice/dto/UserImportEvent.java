@@ -0,0 +1,32 @@
+package com.suraj.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * A line of the NDJSON progress stream returned by a bulk user import.
+ * {@code failure} events name the offending input line, {@code progress} events follow every
+ * batch and a single {@code summary} event closes the stream.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserImportEvent(
+        String type,
+        Long line,
+        String username,
+        String error,
+        Long processed,
+        Long imported,
+        Long failed
+) {
+
+    public static UserImportEvent failure(long line, String username, String error) {
+        return new UserImportEvent("failure", line, username, error, null, null, null);
+    }
+
+    public static UserImportEvent progress(long processed, long imported, long failed) {
+        return new UserImportEvent("progress", null, null, null, processed, imported, failed);
+    }
+
+    public static UserImportEvent summary(long processed, long imported, long failed) {
+        return new UserImportEvent("summary", null, null, null, processed, imported, failed);
+    }
+}
@@ -0,0 +1,40 @@
+package com.suraj.authservice.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.suraj.authservice.entity.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+
+/**
+ * One user record in a bulk import, read from an NDJSON line or a CSV row.
+ * Exactly one of {@code password} (plain text, hashed on import) or {@code passwordHash}
+ * (already hashed by the source system) must be present.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+@Schema(description = "User record in a bulk import")
+public record UserImportRow(
+        @NotBlank(message = "Username is required")
+        @Size(min = 3, max = 50, message = "Username must be between 3 and 50 characters")
+        String username,
+
+        @NotBlank(message = "Email is required")
+        @Email(message = "Email should be valid")
+        String email,
+
+        @Pattern(regexp = "^\\+?[0-9]{10,15}$", message = "Phone number should be valid")
+        String phoneNumber,
+
+        @Size(min = 8, message = "Password must be at least 8 characters")
+        String password,
+
+        @Pattern(regexp = "^(\\{bcrypt}|\\{argon2}|\\$2[aby]\\$).+$",
+                message = "Password hash must be a {bcrypt}/{argon2} tagged or plain BCrypt hash")
+        String passwordHash,
+
+        @Schema(description = "Role to assign, defaults to ROLE_USER")
+        Role role
+) {
+}
@@ -0,0 +1,18 @@
+package com.suraj.authservice.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.util.List;
+
+/**
+ * One page of users, newest first.
+ * Pass {@code nextCursor} as {@code before} to fetch the following page; it is null on the last page.
+ */
+@Schema(description = "Page of users, newest first")
+public record UserPage(
+        @Schema(description = "Users on this page")
+        List<UserSummary> users,
+
+        @Schema(description = "Opaque cursor for the next page, or null if this is the last one")
+        String nextCursor
+) {}
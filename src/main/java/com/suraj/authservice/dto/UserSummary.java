@@ -0,0 +1,22 @@
+package com.suraj.authservice.dto;
+
+import com.suraj.authservice.entity.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only view of a user for administrative listings.
+ * Selected column by column, so the password hash is never read and no entity is hydrated.
+ */
+@Schema(description = "User as listed to administrators")
+public record UserSummary(
+        UUID id,
+        String username,
+        String email,
+        String phoneNumber,
+        Role role,
+        Instant createdAt,
+        Instant updatedAt
+) {}
@@ -0,0 +1,9 @@
+package com.suraj.authservice.entity;
+
+/**
+ * Administrative operations recorded in the audit trail.
+ */
+public enum AuditAction {
+    ROLE_CHANGE,
+    SIGNING_KEY_ROTATION
+}
@@ -0,0 +1,59 @@
+package com.suraj.authservice.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * One entry of the append-only audit trail of administrative operations.
+ * <p>
+ * Rows are inserted in batches by {@code AuditEventWriter} and never updated. Ids are assigned in write
+ * order, so they double as the keyset pagination cursor; each index ends in the id for that reason.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "audit_events", indexes = {
+        @Index(name = "idx_audit_events_actor", columnList = "actor, id"),
+        @Index(name = "idx_audit_events_target", columnList = "target, id"),
+        @Index(name = "idx_audit_events_occurred_at", columnList = "occurred_at, id")
+})
+public class AuditEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 32)
+    private AuditAction action;
+
+    // Username of the administrator who performed the operation
+    @Column(nullable = false)
+    private String actor;
+
+    // Username or key id the operation was applied to
+    @Column(nullable = false)
+    private String target;
+
+    @Column(name = "old_value")
+    private String oldValue;
+
+    @Column(name = "new_value")
+    private String newValue;
+
+    @Column(length = 500)
+    private String reason;
+
+    public static AuditEvent of(AuditAction action, String actor, String target,
+                                String oldValue, String newValue, String reason) {
+        return new AuditEvent(null, Instant.now(), action, actor, target, oldValue, newValue, reason);
+    }
+}
@@ -0,0 +1,53 @@
+package com.suraj.authservice.events;
+
+import java.time.Instant;
+
+/**
+ * One auth event, rendered as a single-line JSON object by the {@link AuthEventLog} consumer thread.
+ *
+ * @param username the user the event is about, if known
+ * @param clientIp the remote address of the request, if known
+ * @param details  event-specific fields as alternating names and values
+ */
+public record AuthEvent(AuthEventType type, long epochMillis, String username, String clientIp,
+                        String... details) {
+
+    public String toJson() {
+        StringBuilder json = new StringBuilder(128)
+                .append("{\"timestamp\":\"").append(Instant.ofEpochMilli(epochMillis))
+                .append("\",\"event\":\"").append(type.tag()).append('"');
+        field(json, "username", username);
+        field(json, "clientIp", clientIp);
+        if (details != null) {
+            for (int i = 0; i + 1 < details.length; i += 2) {
+                field(json, details[i], details[i + 1]);
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static void field(StringBuilder json, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        json.append(",\"").append(name).append("\":\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+}
@@ -0,0 +1,143 @@
+package com.suraj.authservice.events;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured, sampled and asynchronous logging of auth events to the {@code auth.events} logger.
+ * <p>
+ * Request threads only decide whether an event is sampled and, if so, offer it to a bounded
+ * {@link MpscRingBuffer}; rendering the JSON record and writing it happen on a single background thread.
+ * When the buffer is full the event is dropped rather than slowing the request down. Sampled-out and
+ * dropped events are counted per {@link AuthEventType} and exposed as meters.
+ */
+@Slf4j
+@Component
+public class AuthEventLog {
+
+    private static final Logger EVENTS = LoggerFactory.getLogger("auth.events");
+
+    private static final long MIN_IDLE_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final boolean enabled;
+    private final double[] sampleRates = new double[AuthEventType.values().length];
+    private final LongAdder[] published = counters();
+    private final LongAdder[] sampledOut = counters();
+    private final LongAdder[] dropped = counters();
+    private final MpscRingBuffer<AuthEvent> buffer;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public AuthEventLog(@Value("${auth.events.enabled:true}") boolean enabled,
+                        @Value("${auth.events.buffer-capacity:8192}") int bufferCapacity,
+                        @Value("${auth.events.sample-rate.login-success:1.0}") double loginSuccessRate,
+                        @Value("${auth.events.sample-rate.login-failure:1.0}") double loginFailureRate,
+                        @Value("${auth.events.sample-rate.token-rejected:1.0}") double tokenRejectedRate,
+                        @Value("${auth.events.sample-rate.logout:1.0}") double logoutRate,
+                        @Value("${auth.events.sample-rate.role-changed:1.0}") double roleChangedRate) {
+        this.enabled = enabled;
+        sampleRates[AuthEventType.LOGIN_SUCCESS.ordinal()] = loginSuccessRate;
+        sampleRates[AuthEventType.LOGIN_FAILURE.ordinal()] = loginFailureRate;
+        sampleRates[AuthEventType.TOKEN_REJECTED.ordinal()] = tokenRejectedRate;
+        sampleRates[AuthEventType.LOGOUT.ordinal()] = logoutRate;
+        sampleRates[AuthEventType.ROLE_CHANGED.ordinal()] = roleChangedRate;
+        this.buffer = new MpscRingBuffer<>(bufferCapacity);
+
+        this.writer = new Thread(this::drain, "auth-event-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Records an event, subject to the sampling rate of its type. Never blocks.
+     *
+     * @param username the user the event is about, or null
+     * @param clientIp the remote address of the request, or null
+     * @param details  additional fields as alternating names and values
+     */
+    public void publish(AuthEventType type, String username, String clientIp, String... details) {
+        if (!enabled || !EVENTS.isInfoEnabled()) {
+            return;
+        }
+        int index = type.ordinal();
+        double rate = sampleRates[index];
+        if (rate < 1.0 && (rate <= 0.0 || ThreadLocalRandom.current().nextDouble() >= rate)) {
+            sampledOut[index].increment();
+            return;
+        }
+        if (buffer.offer(new AuthEvent(type, System.currentTimeMillis(), username, clientIp, details))) {
+            published[index].increment();
+        } else {
+            dropped[index].increment();
+        }
+    }
+
+    public EventStats stats(AuthEventType type) {
+        int index = type.ordinal();
+        return new EventStats(published[index].sum(), sampledOut[index].sum(), dropped[index].sum());
+    }
+
+    public int queueDepth() {
+        return buffer.size();
+    }
+
+    // Writes events until shutdown, then whatever is still buffered
+    private void drain() {
+        long idleParkNanos = MIN_IDLE_PARK_NANOS;
+        while (true) {
+            AuthEvent event = buffer.poll();
+            if (event != null) {
+                write(event);
+                idleParkNanos = MIN_IDLE_PARK_NANOS;
+            } else if (running) {
+                LockSupport.parkNanos(idleParkNanos);
+                idleParkNanos = Math.min(idleParkNanos * 2, MAX_IDLE_PARK_NANOS);
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static void write(AuthEvent event) {
+        try {
+            EVENTS.info(event.toJson());
+        } catch (RuntimeException e) {
+            log.warn("Failed to write auth event {}: {}", event.type().tag(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writer);
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private static LongAdder[] counters() {
+        LongAdder[] counters = new LongAdder[AuthEventType.values().length];
+        for (int i = 0; i < counters.length; i++) {
+            counters[i] = new LongAdder();
+        }
+        return counters;
+    }
+
+    /**
+     * Cumulative counts for one event type.
+     *
+     * @param published  events accepted into the buffer
+     * @param sampledOut events skipped by sampling
+     * @param dropped    sampled events lost because the buffer was full
+     */
+    public record EventStats(long published, long sampledOut, long dropped) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.suraj.authservice.events;
+
+/**
+ * Categories of auth events; each is sampled and counted separately by {@link AuthEventLog}.
+ */
+public enum AuthEventType {
+
+    LOGIN_SUCCESS("login_success"),
+    LOGIN_FAILURE("login_failure"),
+    TOKEN_REJECTED("token_rejected"),
+    LOGOUT("logout"),
+    ROLE_CHANGED("role_changed");
+
+    private final String tag;
+
+    AuthEventType(String tag) {
+        this.tag = tag;
+    }
+
+    /**
+     * The name used in the structured record, meter tags and the {@code auth.events.sample-rate} keys.
+     */
+    public String tag() {
+        return tag;
+    }
+}
@@ -0,0 +1,91 @@
+package com.suraj.authservice.events;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded, lock-free queue for many producers and a single consumer.
+ * <p>
+ * Each slot carries a sequence number that says whose turn it is: a producer claims the next position
+ * with one CAS on the tail and publishes its element by advancing the slot's sequence; the consumer takes
+ * the element once the sequence shows it is published and hands the slot back for the next lap. When the
+ * buffer is full {@link #offer} fails immediately instead of waiting, so producers never block.
+ */
+public final class MpscRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head;  // written by the consumer thread only
+
+    /**
+     * @param capacity rounded up to a power of two, at least 2
+     */
+    public MpscRingBuffer(int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Ring buffer capacity must be between 1 and 2^30: " + capacity);
+        }
+        // A single slot could not tell a published element from a free slot of the next lap
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1);
+        mask = size - 1;
+        elements = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element unless the buffer is full. Safe to call from any thread.
+     *
+     * @return false if the buffer was full and the element was not added
+     */
+    public boolean offer(E element) {
+        while (true) {
+            long position = tail.get();
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.lazySet(index, position + 1);
+                    return true;
+                }
+            } else if (difference < 0) {
+                // The consumer has not freed this slot from the previous lap
+                return false;
+            }
+            // Otherwise another producer claimed the position first; retry with the new tail
+        }
+    }
+
+    /**
+     * Removes the oldest published element. Must only be called from the single consumer thread.
+     *
+     * @return the element, or null if none is ready
+     */
+    public E poll() {
+        int index = (int) head & mask;
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+        return element;
+    }
+
+    /**
+     * Elements claimed but not yet taken; approximate while producers are active.
+     */
+    public int size() {
+        return (int) Math.max(0, Math.min(tail.get() - head, mask + 1L));
+    }
+
+    public int capacity() {
+        return mask + 1;
+    }
+}
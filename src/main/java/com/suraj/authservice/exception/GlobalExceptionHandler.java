@@ -2,6 +2,7 @@ package com.suraj.authservice.exception;
 
 import com.suraj.authservice.dto.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
@@ -105,6 +106,46 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
     
+    /**
+     * Handles signing key rotation exceptions.
+     *
+     * @param ex The KeyRotationException thrown
+     * @return A ResponseEntity with error details
+     */
+    @ExceptionHandler(KeyRotationException.class)
+    public ResponseEntity<ApiResponse<String>> handleKeyRotationException(KeyRotationException ex) {
+        log.error("Invalid key rotation: {}", ex.getMessage());
+
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                false,
+                "Invalid key rotation",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles malformed pagination cursors.
+     *
+     * @param ex The InvalidCursorException thrown
+     * @return A ResponseEntity with error details
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ApiResponse<String>> handleInvalidCursorException(InvalidCursorException ex) {
+        log.debug("Invalid page cursor: {}", ex.getMessage());
+
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                false,
+                "Invalid page cursor",
+                ex.getMessage()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     /**
      * Handles user already exists exceptions.
      *
@@ -116,7 +157,7 @@ public class GlobalExceptionHandler {
         log.error("User already exists: {}", ex.getMessage());
         
         Map<String, String> errors = new HashMap<>();
-        errors.put("user", ex.getMessage());
+        errors.put(ex.getField() != null ? ex.getField() : "user", ex.getMessage());
         
         ApiResponse<Map<String, String>> response = new ApiResponse<>(
                 HttpStatus.CONFLICT.value(),
@@ -174,6 +215,48 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(apiResponse, HttpStatus.UNAUTHORIZED);
     }
     
+    /**
+     * Handles password hashing overload, telling the client when to retry.
+     *
+     * @param ex The PasswordHashingOverloadedException thrown
+     * @return A ResponseEntity with service unavailable status and a Retry-After header
+     */
+    @ExceptionHandler(PasswordHashingOverloadedException.class)
+    public ResponseEntity<ApiResponse<String>> handlePasswordHashingOverloadedException(PasswordHashingOverloadedException ex) {
+        log.warn("Password hashing overloaded: {}", ex.getMessage());
+
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                false,
+                "Service is busy. Please retry shortly.",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+    /**
+     * Handles rate-limited login and registration attempts, telling the client when to retry.
+     *
+     * @param ex The RateLimitExceededException thrown
+     * @return A ResponseEntity with too many requests status and a Retry-After header
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ApiResponse<String>> handleRateLimitExceededException(RateLimitExceededException ex) {
+        ApiResponse<String> response = new ApiResponse<>(
+                HttpStatus.TOO_MANY_REQUESTS.value(),
+                false,
+                "Too many requests. Please retry later.",
+                ex.getMessage()
+        );
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
     /**
      * Handles validation exceptions that occur during request body validation.
      *
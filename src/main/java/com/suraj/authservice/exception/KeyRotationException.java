@@ -0,0 +1,14 @@
+package com.suraj.authservice.exception;
+
+/**
+ * Exception thrown when a signing key rotation request cannot be applied.
+ * This could be due to:
+ * - Adding a key id that already exists in the key ring
+ * - Activating a key that is already the active signing key
+ */
+public class KeyRotationException extends RuntimeException {
+
+    public KeyRotationException(String message) {
+        super(message);
+    }
+}
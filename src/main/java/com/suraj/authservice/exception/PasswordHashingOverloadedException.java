@@ -0,0 +1,18 @@
+package com.suraj.authservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a password cannot be hashed or verified because the
+ * password hashing executor is saturated. Clients should retry after {@link #getRetryAfterSeconds()}.
+ */
+@Getter
+public class PasswordHashingOverloadedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingOverloadedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
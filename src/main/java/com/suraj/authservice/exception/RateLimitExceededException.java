@@ -0,0 +1,18 @@
+package com.suraj.authservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a client or account has used up its attempts at a rate-limited endpoint.
+ * Clients should retry after {@link #getRetryAfterSeconds()}.
+ */
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -1,7 +1,19 @@
 package com.suraj.authservice.exception;
 
+import lombok.Getter;
+
+@Getter
 public class UserAlreadyExistsException extends RuntimeException {
+
+    // The request field that clashed (username, email or phoneNumber), if known
+    private final String field;
+
     public UserAlreadyExistsException(String message) {
+        this(null, message);
+    }
+
+    public UserAlreadyExistsException(String field, String message) {
         super(message);
+        this.field = field;
     }
 }
@@ -0,0 +1,140 @@
+package com.suraj.authservice.metrics;
+
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Meters for each stage of the authentication pipeline.
+ * <p>
+ * Meters are registered once here and handed out as fields, so the request path never pays for a
+ * registry lookup. Timers publish percentile histograms, which Prometheus turns into latency quantiles
+ * that can be aggregated across instances.
+ */
+@Component
+public class AuthMetrics {
+
+    public static final String FAILURE_EXPIRED = "expired";
+    public static final String FAILURE_INVALID_SIGNATURE = "invalid_signature";
+    public static final String FAILURE_MALFORMED = "malformed";
+    public static final String FAILURE_REVOKED = "revoked";
+    public static final String FAILURE_INVALID = "invalid";
+    public static final String FAILURE_ERROR = "error";
+
+    private final MeterRegistry registry;
+    private final Timer tokenVerification;
+    private final Timer tokenMinting;
+    private final Timer userLoad;
+    private final Timer passwordEncode;
+    private final Timer passwordMatch;
+    private final Timer failureResponse;
+    private final Map<String, Counter> tokenFailures = new ConcurrentHashMap<>();
+    private final Map<String, Counter> rateLimitRejections = new ConcurrentHashMap<>();
+
+    public AuthMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.tokenVerification = timer("auth.token.verification",
+                "Signature, issuer and expiry checks of bearer tokens missing from the verified token cache");
+        this.tokenMinting = timer("auth.token.minting", "Signing of new access tokens");
+        this.userLoad = timer("auth.user.load", "Loading a user from the database by username");
+        this.passwordEncode = Timer.builder("auth.password.hashing")
+                .description("Password hashing, including time queued for the hashing executor")
+                .tag("operation", "encode")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.passwordMatch = Timer.builder("auth.password.hashing")
+                .description("Password hashing, including time queued for the hashing executor")
+                .tag("operation", "matches")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.failureResponse = timer("auth.failure.response", "Rendering of authentication failure responses");
+
+        for (String type : new String[]{FAILURE_EXPIRED, FAILURE_INVALID_SIGNATURE, FAILURE_MALFORMED,
+                FAILURE_REVOKED, FAILURE_INVALID, FAILURE_ERROR}) {
+            tokenFailures.put(type, failureCounter(type));
+        }
+    }
+
+    public Timer tokenVerification() {
+        return tokenVerification;
+    }
+
+    public Timer tokenMinting() {
+        return tokenMinting;
+    }
+
+    public Timer userLoad() {
+        return userLoad;
+    }
+
+    public Timer passwordEncode() {
+        return passwordEncode;
+    }
+
+    public Timer passwordMatch() {
+        return passwordMatch;
+    }
+
+    public Timer failureResponse() {
+        return failureResponse;
+    }
+
+    /**
+     * Classifies a token verification failure into one of the {@code FAILURE_*} types.
+     */
+    public static String failureType(JWTVerificationException e) {
+        if (e instanceof TokenExpiredException) {
+            return FAILURE_EXPIRED;
+        }
+        if (e instanceof SignatureVerificationException) {
+            return FAILURE_INVALID_SIGNATURE;
+        }
+        if (e instanceof JWTDecodeException) {
+            return FAILURE_MALFORMED;
+        }
+        return FAILURE_INVALID;
+    }
+
+    /**
+     * Counts a rejected request by failure type, one of the {@code FAILURE_*} constants.
+     */
+    public void tokenFailure(String type) {
+        tokenFailures.computeIfAbsent(type, this::failureCounter).increment();
+    }
+
+    /**
+     * Counts a request refused by the login/registration rate limiter.
+     *
+     * @param endpoint the limited endpoint, e.g. {@code login}
+     * @param keyType  the bucket that ran out, {@code ip} or {@code username}
+     */
+    public void rateLimitRejection(String endpoint, String keyType) {
+        rateLimitRejections.computeIfAbsent(endpoint + ':' + keyType, key -> Counter.builder("auth.rate.limit.rejections")
+                .description("Login and registration attempts refused by the rate limiter")
+                .tag("endpoint", endpoint)
+                .tag("key", keyType)
+                .register(registry)).increment();
+    }
+
+    private Counter failureCounter(String type) {
+        return Counter.builder("auth.token.failures")
+                .description("Requests rejected by the JWT authentication filter")
+                .tag("type", type)
+                .register(registry);
+    }
+
+    private Timer timer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
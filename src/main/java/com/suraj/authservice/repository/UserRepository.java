@@ -1,15 +1,42 @@
 package com.suraj.authservice.repository;
 
+import com.suraj.authservice.dto.UserSummary;
+import com.suraj.authservice.entity.Role;
 import com.suraj.authservice.entity.User;
+import com.suraj.authservice.security.AuthPrincipal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface UserRepository extends JpaRepository<User, UUID> {
+public interface UserRepository extends JpaRepository<User, UUID>, UserRepositoryCustom {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByPhoneNumber(String phoneNumber);
+
+    // Per-request lookup in DB-based JWT mode: a few columns through the username unique index, no entity
+    @Query("SELECT new com.suraj.authservice.security.AuthPrincipal(u.id, u.username, u.role) " +
+            "FROM User u WHERE u.username = :username")
+    Optional<AuthPrincipal> findAuthPrincipalByUsername(@Param("username") String username);
+
+    @Query("SELECT new com.suraj.authservice.dto.UserSummary(u.id, u.username, u.email, u.phoneNumber, u.role, " +
+            "u.createdAt, u.updatedAt) FROM User u WHERE u.username = :username")
+    Optional<UserSummary> findSummaryByUsername(@Param("username") String username);
+
+    @Modifying
+    @Query("UPDATE User u SET u.password = :password, u.updatedAt = :updatedAt WHERE u.username = :username")
+    int updatePassword(@Param("username") String username, @Param("password") String password,
+                       @Param("updatedAt") Instant updatedAt);
+
+    @Modifying
+    @Query("UPDATE User u SET u.role = :role, u.updatedAt = :updatedAt WHERE u.username IN :usernames")
+    int updateRoles(@Param("usernames") Collection<String> usernames, @Param("role") Role role,
+                    @Param("updatedAt") Instant updatedAt);
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.suraj.authservice.repository;
+
+import com.suraj.authservice.dto.UserSummary;
+import com.suraj.authservice.entity.Role;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Queries on {@code users} that need to be assembled at runtime, implemented by {@link UserRepositoryImpl}.
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Lists users newest first, seeking past the given position instead of skipping rows.
+     *
+     * @param role            only users with this role, or null for any
+     * @param usernamePrefix  only usernames starting with this (case-insensitive), or null
+     * @param beforeCreatedAt creation time of the last user of the previous page, or null for the first page
+     * @param beforeId        id of the last user of the previous page, required with {@code beforeCreatedAt}
+     * @param limit           maximum number of users returned
+     */
+    List<UserSummary> findSummaries(Role role, String usernamePrefix, Instant beforeCreatedAt, UUID beforeId,
+                                    int limit);
+
+    /**
+     * Reads and row-locks ({@code FOR UPDATE}) the current role of the given users, until the end of the
+     * surrounding transaction. Usernames that do not exist are simply absent from the result.
+     */
+    List<RoleAssignment> lockRoles(Collection<String> usernames);
+
+    /**
+     * Reads and row-locks up to {@code limit} users that currently have the given role.
+     */
+    List<RoleAssignment> lockRolesByRole(Role role, int limit);
+
+    /**
+     * A user's role as stored, with the username in its stored spelling.
+     */
+    record RoleAssignment(String username, Role role) {
+    }
+}
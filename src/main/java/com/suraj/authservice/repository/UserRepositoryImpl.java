@@ -0,0 +1,86 @@
+package com.suraj.authservice.repository;
+
+import com.suraj.authservice.dto.UserSummary;
+import com.suraj.authservice.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Keyset listing of users as {@link UserSummary} constructor projections, and the locking reads behind
+ * bulk role changes.
+ * <p>
+ * Only the predicates that are actually used end up in the listing query, so MySQL can seek on
+ * {@code (role, created_at, id)} or {@code (created_at, id)} and read just {@code limit} index entries,
+ * however deep the page.
+ */
+class UserRepositoryImpl implements UserRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<UserSummary> findSummaries(Role role, String usernamePrefix, Instant beforeCreatedAt,
+                                           UUID beforeId, int limit) {
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.suraj.authservice.dto.UserSummary(u.id, u.username, u.email, u.phoneNumber, " +
+                "u.role, u.createdAt, u.updatedAt) FROM User u WHERE 1 = 1");
+        if (role != null) {
+            jpql.append(" AND u.role = :role");
+        }
+        if (usernamePrefix != null) {
+            jpql.append(" AND u.username LIKE :usernamePrefix ESCAPE '\\'");
+        }
+        if (beforeCreatedAt != null) {
+            jpql.append(" AND (u.createdAt < :beforeCreatedAt OR (u.createdAt = :beforeCreatedAt AND u.id < :beforeId))");
+        }
+        jpql.append(" ORDER BY u.createdAt DESC, u.id DESC");
+
+        TypedQuery<UserSummary> query = entityManager.createQuery(jpql.toString(), UserSummary.class)
+                .setMaxResults(limit);
+        if (role != null) {
+            query.setParameter("role", role);
+        }
+        if (usernamePrefix != null) {
+            query.setParameter("usernamePrefix", escapeLike(usernamePrefix) + "%");
+        }
+        if (beforeCreatedAt != null) {
+            query.setParameter("beforeCreatedAt", beforeCreatedAt);
+            query.setParameter("beforeId", beforeId);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public List<RoleAssignment> lockRoles(Collection<String> usernames) {
+        return toRoleAssignments(entityManager
+                .createNativeQuery("SELECT username, role FROM users WHERE username IN (:usernames) FOR UPDATE")
+                .setParameter("usernames", usernames)
+                .getResultList());
+    }
+
+    @Override
+    public List<RoleAssignment> lockRolesByRole(Role role, int limit) {
+        return toRoleAssignments(entityManager
+                .createNativeQuery("SELECT username, role FROM users WHERE role = :role LIMIT :limit FOR UPDATE")
+                .setParameter("role", role.name())
+                .setParameter("limit", limit)
+                .getResultList());
+    }
+
+    private static List<RoleAssignment> toRoleAssignments(List<?> rows) {
+        return rows.stream()
+                .map(row -> (Object[]) row)
+                .map(row -> new RoleAssignment((String) row[0], Role.valueOf((String) row[1])))
+                .toList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
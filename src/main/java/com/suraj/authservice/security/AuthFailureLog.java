@@ -0,0 +1,111 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregated WARN logging for rejected bearer tokens.
+ * <p>
+ * A flood of expired or forged tokens would otherwise write one WARN line per request. Rejections are
+ * counted per failure type instead and summarized at most once per {@code auth.jwt.failure-log.interval-ms},
+ * together with the latest reason; the individual reasons are still logged at DEBUG and, sampled, as
+ * {@link AuthEventType#TOKEN_REJECTED} events.
+ * <p>
+ * Reasons can quote the token (an unknown {@code kid}, a claim value), so they are treated as untrusted:
+ * control characters are replaced and the length is capped before a reason reaches any log.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthFailureLog {
+
+    static final int MAX_REASON_LENGTH = 200;
+
+    private final AuthEventLog authEventLog;
+    private final Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+    private volatile String latestReason;
+    private long lastFlushMillis = System.currentTimeMillis();
+
+    /**
+     * Records a rejected token.
+     *
+     * @param type     one of the {@code AuthMetrics.FAILURE_*} constants
+     * @param reason   the verification message, logged at DEBUG and as the latest reason of the next summary
+     * @param clientIp the remote address of the request
+     */
+    public void record(String type, String reason, String clientIp) {
+        counts.computeIfAbsent(type, key -> new LongAdder()).increment();
+        String sanitized = sanitize(reason);
+        latestReason = sanitized;
+        log.debug("JWT verification failed ({}): {}", type, sanitized);
+        authEventLog.publish(AuthEventType.TOKEN_REJECTED, null, clientIp, "failure", type, "reason", sanitized);
+    }
+
+    // Keeps a forged header from starting a new log line; returns the reason itself when it is already clean
+    static String sanitize(String reason) {
+        if (reason == null) {
+            return null;
+        }
+        int length = Math.min(reason.length(), MAX_REASON_LENGTH);
+        int i = 0;
+        while (i < length && !isUnsafe(reason.charAt(i))) {
+            i++;
+        }
+        if (i == reason.length()) {
+            return reason;
+        }
+
+        StringBuilder sanitized = new StringBuilder(length + 3).append(reason, 0, i);
+        for (; i < length; i++) {
+            char c = reason.charAt(i);
+            sanitized.append(isUnsafe(c) ? '?' : c);
+        }
+        if (reason.length() > MAX_REASON_LENGTH) {
+            sanitized.append("...");
+        }
+        return sanitized.toString();
+    }
+
+    private static boolean isUnsafe(char c) {
+        return Character.isISOControl(c) || c == '\u2028' || c == '\u2029';
+    }
+
+    // Also on shutdown, so the last interval is not lost
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${auth.jwt.failure-log.interval-ms:10000}",
+            initialDelayString = "${auth.jwt.failure-log.interval-ms:10000}")
+    public synchronized void flush() {
+        long now = System.currentTimeMillis();
+        long elapsedSeconds = Math.max(1, (now - lastFlushMillis) / 1000);
+        lastFlushMillis = now;
+
+        long total = 0;
+        Map<String, Long> byType = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : counts.entrySet()) {
+            long count = entry.getValue().sumThenReset();
+            if (count > 0) {
+                byType.put(entry.getKey(), count);
+                total += count;
+            }
+        }
+        if (total == 0) {
+            return;
+        }
+
+        StringJoiner summary = new StringJoiner(", ");
+        byType.forEach((type, count) -> summary.add(type + "=" + count));
+        log.warn("JWT verification failed for {} requests in the last {}s ({}); latest: {}",
+                total, elapsedSeconds, summary, latestReason);
+    }
+}
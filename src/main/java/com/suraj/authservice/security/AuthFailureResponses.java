@@ -0,0 +1,136 @@
+package com.suraj.authservice.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.authservice.dto.ApiResponse;
+import com.suraj.authservice.metrics.AuthMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Pre-serialized bodies for the 401 and 500 responses of the JWT filters.
+ * <p>
+ * Each failure type has a fixed {@link ApiResponse}, serialized once at startup with the application's
+ * {@link ObjectMapper} and split around its timestamp. A rejection then writes the two halves with the
+ * current timestamp in between, rendered at most once per millisecond, instead of building and serializing
+ * a response object per request. The bodies deliberately carry no text from the exception, so forged or
+ * garbage tokens are never echoed back.
+ */
+@Component
+public class AuthFailureResponses {
+
+    // Serializes distinctively enough to be found in the rendered body
+    private static final Instant SENTINEL = Instant.ofEpochSecond(0, 123_456_789);
+
+    private final ObjectMapper objectMapper;
+    private final Map<String, Template> templates = new HashMap<>();
+    private final Template unexpectedError;
+    private volatile RenderedTimestamp timestamp = new RenderedTimestamp(Long.MIN_VALUE, new byte[0]);
+
+    public AuthFailureResponses(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        unauthorized(AuthMetrics.FAILURE_EXPIRED, "Token has expired", "The Token has expired");
+        unauthorized(AuthMetrics.FAILURE_INVALID_SIGNATURE, "Invalid token signature",
+                "The Token's Signature resulted invalid");
+        unauthorized(AuthMetrics.FAILURE_MALFORMED, "Malformed JWT token", "The Token could not be decoded");
+        unauthorized(AuthMetrics.FAILURE_REVOKED, "Invalid JWT token", "Token has been revoked");
+        unauthorized(AuthMetrics.FAILURE_INVALID, "Invalid JWT token", "The Token was rejected");
+        unexpectedError = template(new ApiResponse<String>(HttpStatus.INTERNAL_SERVER_ERROR.value(), false,
+                "Internal authentication error", Map.of("error", "Unexpected error during authentication")));
+    }
+
+    /**
+     * Writes the 401 body for a failure type, one of the {@code AuthMetrics.FAILURE_*} constants.
+     */
+    public void writeUnauthorized(String type, OutputStream out) throws IOException {
+        unauthorizedTemplate(type).write(currentTimestamp(), out);
+    }
+
+    public byte[] unauthorized(String type) {
+        return unauthorizedTemplate(type).render(currentTimestamp());
+    }
+
+    public void writeUnexpectedError(OutputStream out) throws IOException {
+        unexpectedError.write(currentTimestamp(), out);
+    }
+
+    private Template unauthorizedTemplate(String type) {
+        Template template = templates.get(type);
+        return template != null ? template : templates.get(AuthMetrics.FAILURE_INVALID);
+    }
+
+    private void unauthorized(String type, String message, String detail) {
+        templates.put(type, template(new ApiResponse<String>(HttpStatus.UNAUTHORIZED.value(), false,
+                message, Map.of("jwt", detail))));
+    }
+
+    private Template template(ApiResponse<String> response) {
+        response.setTimestamp(SENTINEL);
+        byte[] body = serialize(response);
+        byte[] marker = serialize(SENTINEL);
+        int at = indexOf(body, marker);
+        if (at < 0) {
+            throw new IllegalStateException("Timestamp not found in rendered failure response");
+        }
+        return new Template(Arrays.copyOfRange(body, 0, at), Arrays.copyOfRange(body, at + marker.length, body.length));
+    }
+
+    // Millisecond precision, so a flood of rejections shares one rendering per millisecond
+    private byte[] currentTimestamp() {
+        long now = System.currentTimeMillis();
+        RenderedTimestamp current = timestamp;
+        if (current.epochMillis() != now) {
+            current = new RenderedTimestamp(now, serialize(Instant.ofEpochMilli(now)));
+            timestamp = current;
+        }
+        return current.bytes();
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return objectMapper.writeValueAsBytes(value);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        outer:
+        for (int i = 0; i <= bytes.length - target.length; i++) {
+            for (int j = 0; j < target.length; j++) {
+                if (bytes[i + j] != target[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private record RenderedTimestamp(long epochMillis, byte[] bytes) {
+    }
+
+    private record Template(byte[] prefix, byte[] suffix) {
+
+        void write(byte[] timestamp, OutputStream out) throws IOException {
+            out.write(prefix);
+            out.write(timestamp);
+            out.write(suffix);
+        }
+
+        byte[] render(byte[] timestamp) {
+            byte[] body = Arrays.copyOf(prefix, prefix.length + timestamp.length + suffix.length);
+            System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+            System.arraycopy(suffix, 0, body, prefix.length + timestamp.length, suffix.length);
+            return body;
+        }
+    }
+}
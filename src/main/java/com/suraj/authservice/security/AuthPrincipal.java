@@ -0,0 +1,60 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The principal of a request authenticated in DB-based JWT mode.
+ * <p>
+ * Selected by {@code UserRepository.findAuthPrincipalByUsername} as a constructor projection with only
+ * the columns authorization needs, so no {@code User} entity, password hash or persistence context snapshot
+ * is created per request, and the object held by the security context and the user cache stays small.
+ * The users table has no enabled or locked flags yet, so accounts are always reported as usable.
+ */
+public record AuthPrincipal(UUID id, String username, Role role, List<GrantedAuthority> authorities)
+        implements UserDetails {
+
+    public AuthPrincipal(UUID id, String username, Role role) {
+        this(id, username, role, role != null ? List.of(RoleAuthority.of(role)) : List.of());
+    }
+
+    @Override
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    // Never loaded; requests are authenticated by their token, not by a password
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
@@ -0,0 +1,114 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.exception.RateLimitExceededException;
+import com.suraj.authservice.metrics.AuthMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-username and per-client-IP limits on login and registration.
+ * <p>
+ * Every attempt at these endpoints costs a full password hash, so the limits are checked in the controller
+ * before any database or hashing work. The IP bucket is checked first, so a client that is already blocked
+ * does not also use up the budget of the accounts it targets. A capacity of 0 turns that bucket off.
+ * <p>
+ * Client IPs come from {@code getRemoteAddr()}; behind a proxy, set {@code server.forward-headers-strategy}
+ * so that it reflects the forwarded client address.
+ */
+@Slf4j
+@Component
+public class AuthRateLimiter {
+
+    public static final String ENDPOINT_LOGIN = "login";
+    public static final String ENDPOINT_REGISTER = "register";
+
+    private final boolean enabled;
+    private final TokenBucketLimiter loginByUsername;
+    private final TokenBucketLimiter loginByIp;
+    private final TokenBucketLimiter registerByUsername;
+    private final TokenBucketLimiter registerByIp;
+    private final AuthMetrics metrics;
+
+    public AuthRateLimiter(@Value("${auth.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${auth.rate-limit.max-keys:100000}") int maxKeys,
+                           @Value("${auth.rate-limit.login.username.capacity:5}") int loginUsernameCapacity,
+                           @Value("${auth.rate-limit.login.username.refill-seconds:60}") long loginUsernameRefillSeconds,
+                           @Value("${auth.rate-limit.login.ip.capacity:20}") int loginIpCapacity,
+                           @Value("${auth.rate-limit.login.ip.refill-seconds:60}") long loginIpRefillSeconds,
+                           @Value("${auth.rate-limit.register.username.capacity:3}") int registerUsernameCapacity,
+                           @Value("${auth.rate-limit.register.username.refill-seconds:60}") long registerUsernameRefillSeconds,
+                           @Value("${auth.rate-limit.register.ip.capacity:5}") int registerIpCapacity,
+                           @Value("${auth.rate-limit.register.ip.refill-seconds:300}") long registerIpRefillSeconds,
+                           AuthMetrics metrics) {
+        this.enabled = enabled;
+        this.loginByUsername = limiter(loginUsernameCapacity, loginUsernameRefillSeconds, maxKeys);
+        this.loginByIp = limiter(loginIpCapacity, loginIpRefillSeconds, maxKeys);
+        this.registerByUsername = limiter(registerUsernameCapacity, registerUsernameRefillSeconds, maxKeys);
+        this.registerByIp = limiter(registerIpCapacity, registerIpRefillSeconds, maxKeys);
+        this.metrics = metrics;
+    }
+
+    /**
+     * @throws RateLimitExceededException if the client or the account has no login attempts left
+     */
+    public void checkLogin(String username, String clientIp) {
+        check(ENDPOINT_LOGIN, loginByIp, loginByUsername, username, clientIp);
+    }
+
+    /**
+     * @throws RateLimitExceededException if the client or the username has no registration attempts left
+     */
+    public void checkRegistration(String username, String clientIp) {
+        check(ENDPOINT_REGISTER, registerByIp, registerByUsername, username, clientIp);
+    }
+
+    @Scheduled(fixedDelayString = "${auth.rate-limit.eviction-interval-ms:60000}")
+    public void evictIdle() {
+        for (TokenBucketLimiter limiter : new TokenBucketLimiter[]{loginByUsername, loginByIp, registerByUsername, registerByIp}) {
+            if (limiter != null) {
+                limiter.evictIdle();
+            }
+        }
+    }
+
+    private void check(String endpoint, TokenBucketLimiter byIp, TokenBucketLimiter byUsername,
+                       String username, String clientIp) {
+        if (!enabled) {
+            return;
+        }
+        if (byIp != null && clientIp != null) {
+            reject(endpoint, "ip", clientIp, byIp.tryAcquire(clientIp));
+        }
+        if (byUsername != null && username != null) {
+            // Usernames compare case-insensitively in the default MySQL collation, so the buckets must too
+            reject(endpoint, "username", username, byUsername.tryAcquire(username.toLowerCase(Locale.ROOT)));
+        }
+    }
+
+    private void reject(String endpoint, String keyType, String key, long waitNanos) {
+        if (waitNanos == 0) {
+            return;
+        }
+        metrics.rateLimitRejection(endpoint, keyType);
+        // Counted rather than logged at WARN: under attack this fires for almost every request
+        log.debug("Rate limit exceeded on {} for {} {}", endpoint, keyType, key);
+
+        throw new RateLimitExceededException("Too many " + endpoint + " attempts, please retry later",
+                retryAfterSeconds(waitNanos));
+    }
+
+    // Rounded up, so a client that waits exactly Retry-After finds a token
+    static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static TokenBucketLimiter limiter(int capacity, long refillSeconds, int maxKeys) {
+        return capacity > 0 ? new TokenBucketLimiter(capacity, Duration.ofSeconds(refillSeconds), maxKeys) : null;
+    }
+}
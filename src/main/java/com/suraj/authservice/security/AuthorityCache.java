@@ -0,0 +1,78 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned authority lists for the {@code roles} claim of a JWT.
+ * <p>
+ * {@link JWTService} writes the claim as {@code getAuthorities().toString()}, e.g. {@code "[ROLE_USER]"},
+ * so only a handful of distinct values ever occur. Each value is parsed once into an immutable list that
+ * is shared by every request carrying it; the lists for single {@link Role}s are built up front.
+ */
+@Component
+public class AuthorityCache {
+
+    // Claims are signed by us, but bound the cache anyway in case the claim format ever widens
+    private static final int MAX_ENTRIES = 256;
+
+    private final Map<String, List<GrantedAuthority>> authoritiesByClaim = new ConcurrentHashMap<>();
+
+    public AuthorityCache() {
+        for (Role role : Role.values()) {
+            List<GrantedAuthority> authorities = List.of(RoleAuthority.of(role));
+            authoritiesByClaim.put(authorities.toString(), authorities);
+        }
+    }
+
+    /**
+     * Returns the shared, immutable authority list for a {@code roles} claim value.
+     *
+     * @param rolesClaim the claim, in {@code "[ROLE_A, ROLE_B]"} format; may be null
+     * @return the authorities, empty when the claim is null or blank
+     */
+    public List<GrantedAuthority> resolve(String rolesClaim) {
+        if (rolesClaim == null || rolesClaim.isEmpty()) {
+            return List.of();
+        }
+
+        List<GrantedAuthority> authorities = authoritiesByClaim.get(rolesClaim);
+        if (authorities != null) {
+            return authorities;
+        }
+
+        authorities = parse(rolesClaim);
+        if (authoritiesByClaim.size() < MAX_ENTRIES) {
+            List<GrantedAuthority> existing = authoritiesByClaim.putIfAbsent(rolesClaim, authorities);
+            return existing != null ? existing : authorities;
+        }
+        return authorities;
+    }
+
+    // Splits "[ROLE_A, ROLE_B]" on commas, ignoring brackets and surrounding whitespace
+    private static List<GrantedAuthority> parse(String rolesClaim) {
+        List<GrantedAuthority> authorities = new ArrayList<>();
+        int start = 0;
+        int length = rolesClaim.length();
+        while (start < length) {
+            int end = rolesClaim.indexOf(',', start);
+            if (end < 0) {
+                end = length;
+            }
+            String role = rolesClaim.substring(start, end).replace("[", "").replace("]", "").trim();
+            if (!role.isEmpty()) {
+                RoleAuthority roleAuthority = RoleAuthority.of(role);
+                authorities.add(roleAuthority != null ? roleAuthority : new SimpleGrantedAuthority(role));
+            }
+            start = end + 1;
+        }
+        return List.copyOf(authorities);
+    }
+}
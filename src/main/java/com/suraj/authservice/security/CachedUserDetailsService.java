@@ -0,0 +1,80 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.cache.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Read-through cache in front of {@link CustomUserDetailsService} for the DB-based JWT mode
+ * ({@code auth.jwt.use-db: true}), where every authenticated request would otherwise query the users table.
+ * Entries are {@link AuthPrincipal} projections, not entities, and never hold the password hash.
+ * <p>
+ * Entries live for at most {@code auth.jwt.user-cache.ttl-seconds}; any code that mutates a user must
+ * call {@link #evict(String)} so the next request sees the change immediately. Login keeps using
+ * {@link CustomUserDetailsService} directly so password checks always run against the stored hash.
+ */
+@Primary
+@Service
+public class CachedUserDetailsService implements UserDetailsService {
+
+    private final CustomUserDetailsService delegate;
+    private final boolean enabled;
+    private final long ttlMillis;
+    private final ExpiringCache<String, UserDetails> cache;
+
+    public CachedUserDetailsService(CustomUserDetailsService delegate,
+                                    @Value("${auth.jwt.user-cache.enabled:true}") boolean enabled,
+                                    @Value("${auth.jwt.user-cache.ttl-seconds:60}") long ttlSeconds,
+                                    @Value("${auth.jwt.user-cache.max-entries:10000}") int maxEntries) {
+        this.delegate = delegate;
+        this.enabled = enabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new ExpiringCache<>(maxEntries, 0, userDetails -> 0);
+    }
+
+    @Override
+    public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!enabled) {
+            return delegate.loadAuthPrincipal(username);
+        }
+
+        UserDetails cached = cache.get(username);
+        if (cached != null) {
+            return cached;
+        }
+
+        UserDetails userDetails = delegate.loadAuthPrincipal(username);
+        cache.put(username, userDetails, System.currentTimeMillis() + ttlMillis);
+        return userDetails;
+    }
+
+    /**
+     * Drops the cached entry for a user whose data has changed.
+     * When called inside a transaction the entry is dropped again after commit, so a concurrent
+     * request cannot re-cache the pre-commit state.
+     *
+     * @param username the username of the mutated user
+     */
+    public void evict(String username) {
+        cache.invalidate(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(username);
+                }
+            });
+        }
+    }
+
+    public ExpiringCache.CacheStats stats() {
+        return cache.stats();
+    }
+}
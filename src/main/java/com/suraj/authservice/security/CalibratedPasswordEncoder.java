@@ -0,0 +1,74 @@
+package com.suraj.authservice.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.Map;
+
+/**
+ * Prefix-tagged password encoder ({@code {bcrypt}...} or {@code {argon2}...}) that hashes with one target
+ * algorithm and work factor, and still verifies every hash stored under earlier settings, including the
+ * untagged BCrypt hashes written before tagging was introduced.
+ * <p>
+ * {@link #upgradeEncoding(String)} reports any stored hash whose algorithm or parameters differ from the
+ * target, in either direction, so the authentication provider re-hashes it after a successful login.
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+
+    static final String BCRYPT_ID = "bcrypt";
+    static final String ARGON2_ID = "argon2";
+
+    private final DelegatingPasswordEncoder delegate;
+    private final String targetPrefix;
+
+    private CalibratedPasswordEncoder(String encodingId, PasswordEncoder targetEncoder, String targetPrefix) {
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT_ID, encodingId.equals(BCRYPT_ID) ? targetEncoder : new BCryptPasswordEncoder(),
+                ARGON2_ID, encodingId.equals(ARGON2_ID) ? targetEncoder : Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8()
+        );
+        this.delegate = new DelegatingPasswordEncoder(encodingId, encoders);
+        // Hashes stored before prefixes were introduced are plain BCrypt
+        this.delegate.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT_ID));
+        this.targetPrefix = targetPrefix;
+    }
+
+    /**
+     * Creates an encoder that hashes with BCrypt at the given cost.
+     */
+    public static CalibratedPasswordEncoder bcrypt(int strength) {
+        return new CalibratedPasswordEncoder(BCRYPT_ID, new BCryptPasswordEncoder(strength),
+                String.format("{%s}$2a$%02d$", BCRYPT_ID, strength));
+    }
+
+    /**
+     * Creates an encoder that hashes with Argon2id using the given memory (KiB), iterations and parallelism.
+     */
+    public static CalibratedPasswordEncoder argon2(int memoryKib, int iterations, int parallelism) {
+        return new CalibratedPasswordEncoder(ARGON2_ID,
+                new Argon2PasswordEncoder(16, 32, parallelism, memoryKib, iterations),
+                String.format("{%s}$argon2id$v=19$m=%d,t=%d,p=%d$", ARGON2_ID, memoryKib, iterations, parallelism));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // The algorithm id and every cost parameter are encoded in the hash prefix
+        return encodedPassword != null && !encodedPassword.startsWith(targetPrefix);
+    }
+
+    @Override
+    public String toString() {
+        return targetPrefix;
+    }
+}
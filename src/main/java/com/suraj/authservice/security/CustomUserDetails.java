@@ -3,7 +3,6 @@ package com.suraj.authservice.security;
 import com.suraj.authservice.entity.User;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
@@ -32,10 +31,8 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        // Convert user role to a Spring Security GrantedAuthority
-        return Collections.singletonList(
-                new SimpleGrantedAuthority(user.getRole().name())
-        );
+        // Convert user role to its shared GrantedAuthority, which the role hierarchy compares by ordinal
+        return Collections.singletonList(RoleAuthority.of(user.getRole()));
     }
 
     @Override
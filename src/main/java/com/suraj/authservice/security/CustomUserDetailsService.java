@@ -1,24 +1,56 @@
 package com.suraj.authservice.security;
 
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
 import com.suraj.authservice.entity.User;
+import com.suraj.authservice.metrics.AuthMetrics;
 import com.suraj.authservice.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
 
 @RequiredArgsConstructor
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final AuthMetrics metrics;
+    private final ReadYourWritesWindow readYourWritesWindow;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        User user = metrics.userLoad().record(() -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
         return new CustomUserDetails(user);
     }
+
+    /**
+     * Loads the authorization-relevant columns of a user for a token-authenticated request.
+     * Unlike {@link #loadUserByUsername}, no entity is loaded and the password hash is not read.
+     */
+    @Transactional(readOnly = true)
+    public AuthPrincipal loadAuthPrincipal(String username) throws UsernameNotFoundException {
+        return metrics.userLoad().record(() -> userRepository.findAuthPrincipalByUsername(username))
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+    }
+
+    /**
+     * Stores a re-hashed password after a successful login whose stored hash used outdated parameters.
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.updatePassword(userDetails.getUsername(), newPassword, Instant.now());
+        readYourWritesWindow.recordWrite(userDetails.getUsername());
+
+        User user = ((CustomUserDetails) userDetails).getUser();
+        user.setPassword(newPassword);
+        return new CustomUserDetails(user);
+    }
 }
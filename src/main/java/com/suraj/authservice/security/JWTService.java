@@ -1,48 +1,130 @@
 package com.suraj.authservice.security;
 
 import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.RegisteredClaims;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
 import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.impl.JWTParser;
 import com.auth0.jwt.interfaces.DecodedJWT;
+import com.auth0.jwt.interfaces.Header;
+import com.suraj.authservice.metrics.AuthMetrics;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.Base64;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class JWTService {
-    @Value("${jwt.secret-key}")
-    private String secretKey;
 
-    @Value("${jwt.expiration-seconds}") // 30 minutes default
+    private static final JWTParser HEADER_PARSER = new JWTParser();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    private final JwtKeyRing keyRing;
+    private final AuthMetrics metrics;
+
+    @Value("${jwt.expiration-seconds}") // 15 minutes default
     private long expirationSeconds;
 
     @Value("${jwt.issuer}")
     private String issuer;
 
     public String generateJwtToken(CustomUserDetails userDetails) {
+        return metrics.tokenMinting().record(() -> mintToken(userDetails));
+    }
+
+    private String mintToken(CustomUserDetails userDetails) {
+        JwtKeyRing.SigningKey signingKey = keyRing.activeKey();
+        Instant now = Instant.now();
         return JWT.create()
+                .withKeyId(signingKey.keyId())
                 .withSubject(userDetails.getUsername())
-                .withIssuedAt(Instant.now())
-                .withExpiresAt(Instant.now().plusSeconds(expirationSeconds))
+                .withIssuedAt(now)
+                .withExpiresAt(now.plusSeconds(expirationSeconds))
                 .withIssuer(issuer)
                 .withJWTId(UUID.randomUUID().toString())
                 .withClaim("userId", userDetails.getUserId().toString())
                 .withClaim("email", userDetails.getEmail())
                 .withClaim("roles", userDetails.getAuthorities().toString())
-                .sign(Algorithm.HMAC256(secretKey));
+                .sign(signingKey.algorithm());
     }
     
+    public long getExpirationSeconds() {
+        return expirationSeconds;
+    }
+
     public DecodedJWT validateToken(String token) throws JWTVerificationException {
-        // This method will automatically check if the token is valid
-        // including signature verification and expiration check
-        return JWT.require(Algorithm.HMAC256(secretKey))
-                .withIssuer(issuer)
-                .build()
-                .verify(token);
+        // Read only the header for the kid, check the signature over the raw token with the pre-built
+        // check for that key, and only then parse the payload and check the claims. A forged token is
+        // classified by its signature whatever its claims say, and costs no payload parsing.
+        Header header = decodeHeader(token);
+        keyRing.keyFor(header.getKeyId()).verifySignature(token, header.getAlgorithm());
+        DecodedJWT decodedJWT = JWT.decode(token);
+        verifyClaims(decodedJWT);
+        return decodedJWT;
     }
 
-}
\ No newline at end of file
+    private static Header decodeHeader(String token) throws JWTDecodeException {
+        int headerEnd = token.indexOf('.');
+        int payloadEnd = token.indexOf('.', headerEnd + 1);
+        if (headerEnd < 0 || payloadEnd < 0 || token.indexOf('.', payloadEnd + 1) >= 0) {
+            // Not three parts; let the full decoder reject it the usual way
+            return JWT.decode(token);
+        }
+        String json;
+        try {
+            json = new String(BASE64_URL_DECODER.decode(token.substring(0, headerEnd)), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            return JWT.decode(token);
+        }
+        return HEADER_PARSER.parseHeader(json);
+    }
+
+    /**
+     * The claim checks {@code JWT.require(algorithm).withIssuer(issuer)} would make, without verifying the
+     * signature a second time.
+     */
+    private void verifyClaims(DecodedJWT decodedJWT) throws JWTVerificationException {
+        if (!issuer.equals(decodedJWT.getIssuer())) {
+            throw new IncorrectClaimException("The Claim 'iss' value doesn't match the required issuer.",
+                    RegisteredClaims.ISSUER, decodedJWT.getClaim(RegisteredClaims.ISSUER));
+        }
+        Instant now = Instant.now();
+        Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+        if (expiresAt != null && !now.isBefore(expiresAt)) {
+            throw new ExpiredTokenException(expiresAt);
+        }
+        Instant notBefore = decodedJWT.getNotBeforeAsInstant();
+        if (notBefore != null && now.isBefore(notBefore)) {
+            throw new IncorrectClaimException("The Token can't be used before " + notBefore + ".",
+                    RegisteredClaims.NOT_BEFORE, decodedJWT.getClaim(RegisteredClaims.NOT_BEFORE));
+        }
+        Instant issuedAt = decodedJWT.getIssuedAtAsInstant();
+        if (issuedAt != null && now.isBefore(issuedAt)) {
+            throw new IncorrectClaimException("The Token can't be used before " + issuedAt + ".",
+                    RegisteredClaims.ISSUED_AT, decodedJWT.getClaim(RegisteredClaims.ISSUED_AT));
+        }
+    }
+
+    /**
+     * Thrown for validly signed tokens that have expired. Expired tokens are routine and can arrive in
+     * floods, and the filters only need the type and message, so no stack trace is captured.
+     */
+    private static final class ExpiredTokenException extends TokenExpiredException {
+
+        private ExpiredTokenException(Instant expiredOn) {
+            super("The Token has expired on " + expiredOn + ".", expiredOn);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -2,8 +2,10 @@ package com.suraj.authservice.security;
 
 import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.suraj.authservice.dto.ApiResponse;
+import com.suraj.authservice.datasource.DataSourceRouting;
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
+import com.suraj.authservice.metrics.AuthMetrics;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -15,7 +17,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -24,11 +25,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * JWT Authentication filter that supports:
@@ -41,12 +38,25 @@ import java.util.stream.Collectors;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JWTService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final AuthorityCache authorityCache;
     private final UserDetailsService userDetailsService;
-    private final ObjectMapper objectMapper;  // Injected ObjectMapper
+    private final AuthFailureResponses failureResponses;
+    private final AuthFailureLog failureLog;
+    private final AuthMetrics metrics;
+    private final RouteAuthorizationTable routeAuthorizationTable;
+    private final ReadYourWritesWindow readYourWritesWindow;
 
     @Value("${auth.jwt.use-db}")
     private boolean useDbBasedJwt;
 
+    // Public routes never look at the token, so don't spend a verification (or a 401) on one sent there
+    @Override
+    protected boolean shouldNotFilter(@NotNull HttpServletRequest request) {
+        return routeAuthorizationTable.isPublic(request);
+    }
+
     @Override
     protected void doFilterInternal(@NotNull HttpServletRequest request,
                               @NotNull HttpServletResponse response,
@@ -58,30 +68,37 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        DecodedJWT decodedJWT = jwtService.validateToken(token);
-        String username = decodedJWT.getSubject();
-
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            // Check if token is in blacklist (for logout functionality)
-            if (isTokenBlacklisted(token)) {
-                handleJwtVerificationFailure(response, new JWTVerificationException("Token has been revoked"));
-                return;
-            }
-            
-            if (useDbBasedJwt) {
-                authenticateWithDatabase(request, username);
-                log.debug("DB-based JWT authentication applied for user: {}", username);
-            } else {
-                List<GrantedAuthority> authorities = extractAuthoritiesFromToken(decodedJWT);
-                authenticateWithJwtOnly(username, authorities);
-                log.debug("JWT-only authentication applied for user: {}", username);
-            }
+        // Sessions reuse the same token, so verification and claim parsing only run on a cache miss
+        VerifiedTokenCache.VerifiedToken verifiedToken = verifiedTokenCache.get(token);
+        if (verifiedToken == null) {
+            DecodedJWT decodedJWT = metrics.tokenVerification().record(() -> jwtService.validateToken(token));
+            verifiedToken = verifiedTokenCache.put(token, decodedJWT, extractAuthoritiesFromToken(decodedJWT));
         }
+        String username = verifiedToken.username();
+
+        // Right after a write to this user, read from the primary rather than a replica that may lag
+        try (DataSourceRouting.Scope routing = readYourWritesWindow.scopeFor(username)) {
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // Check if token is in blacklist (for logout functionality)
+                if (isTokenBlacklisted(verifiedToken.tokenId())) {
+                    handleJwtVerificationFailure(request, response, "Token has been revoked", AuthMetrics.FAILURE_REVOKED);
+                    return;
+                }
+
+                if (useDbBasedJwt) {
+                    authenticateWithDatabase(request, username);
+                    log.debug("DB-based JWT authentication applied for user: {}", username);
+                } else {
+                    authenticateWithJwtOnly(username, verifiedToken.authorities());
+                    log.debug("JWT-only authentication applied for user: {}", username);
+                }
+            }
 
-        filterChain.doFilter(request, response);
+            filterChain.doFilter(request, response);
+        }
 
     } catch (JWTVerificationException e) {
-        handleJwtVerificationFailure(response, e);
+        handleJwtVerificationFailure(request, response, e);
         // Intentionally not continuing the filter chain for security reasons
     } catch (Exception e) {
         handleUnexpectedFailure(response, e);
@@ -89,10 +106,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 }
 
-// Method to check if a token is blacklisted (would need to be implemented)
-private boolean isTokenBlacklisted(String token) {
-    // Implementation would check against a blacklist storage (Redis, database, etc.)
-    return false;
+// Checks the token id (jti) against tokens revoked on logout
+private boolean isTokenBlacklisted(String tokenId) {
+    return tokenRevocationStore.isRevoked(tokenId);
 }
 
     private String extractTokenFromRequest(HttpServletRequest request) {
@@ -116,46 +132,29 @@ private boolean isTokenBlacklisted(String token) {
         SecurityContextHolder.getContext().setAuthentication(authentication);
     }
 
-    private List<GrantedAuthority> extractAuthoritiesFromToken(DecodedJWT decodedJWT) {
-        String rolesString = decodedJWT.getClaim("roles").asString();
-
-        if (rolesString == null || rolesString.isEmpty()) {
-            return new ArrayList<>();
-        }
-
-        // Remove brackets from "[ROLE_USER, ROLE_ADMIN]" format : Abhi to sirf single role rkha hai but badme kam aa skta hai
-        rolesString = rolesString.replaceAll("[\\[\\]]", "");
-
-
-        return Arrays.stream(rolesString.split(","))
-                .map(String::trim)
-                .filter(role -> !role.isEmpty())
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
+    List<GrantedAuthority> extractAuthoritiesFromToken(DecodedJWT decodedJWT) {
+        // The claim is "[ROLE_USER]"-style text; each distinct value is parsed once and shared
+        return authorityCache.resolve(decodedJWT.getClaim("roles").asString());
     }
 
-    private void handleJwtVerificationFailure(HttpServletResponse response, JWTVerificationException e) throws IOException {
-        log.warn("JWT verification failed: {}", e.getMessage());
+    private void handleJwtVerificationFailure(HttpServletRequest request, HttpServletResponse response,
+                                              JWTVerificationException e) throws IOException {
+        handleJwtVerificationFailure(request, response, e.getMessage(), AuthMetrics.failureType(e));
+    }
 
-        String message = switch (e.getClass().getSimpleName()) {
-            case "TokenExpiredException" -> "Token has expired";
-            case "SignatureVerificationException" -> "Invalid token signature";
-            case "JWTDecodeException" -> "Malformed JWT token";
-            default -> "Invalid JWT token";
-        };
+    private void handleJwtVerificationFailure(HttpServletRequest request, HttpServletResponse response,
+                                              String reason, String type) throws IOException {
+        failureLog.record(type, reason, request.getRemoteAddr());
+        metrics.tokenFailure(type);
+        Timer.Sample sample = Timer.start();
 
         SecurityContextHolder.clearContext();
 
-        ApiResponse<String> apiResponse = new ApiResponse<>(
-                HttpServletResponse.SC_UNAUTHORIZED,
-                false,
-                message,
-                Map.of("jwt", e.getMessage())
-        );
-
+        // Pre-rendered per failure type, only the timestamp is filled in
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
         response.setContentType("application/json");
-        objectMapper.writeValue(response.getOutputStream(), apiResponse);
+        failureResponses.writeUnauthorized(type, response.getOutputStream());
+        sample.stop(metrics.failureResponse());
     }
 
 
@@ -165,22 +164,15 @@ private boolean isTokenBlacklisted(String token) {
 
     private void handleUnexpectedFailure(HttpServletResponse response, Exception e) throws IOException {
         log.error("Unexpected error during authentication filter", e);
+        metrics.tokenFailure(AuthMetrics.FAILURE_ERROR);
+        Timer.Sample sample = Timer.start();
 
         SecurityContextHolder.clearContext();
 
-        ApiResponse<String> apiResponse = new ApiResponse<>(
-                HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                false,
-                "Internal authentication error",
-                Map.of("error", e.getClass().getSimpleName(), "details", e.getMessage())
-        );
-
         response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
         response.setContentType("application/json");
-//        Take this Java object (apiResponse),
-//        convert it to JSON, 
-//        and write it directly to the HTTP response body.
-        objectMapper.writeValue(response.getOutputStream(), apiResponse);
+        failureResponses.writeUnexpectedError(response.getOutputStream());
+        sample.stop(metrics.failureResponse());
     }
 
 
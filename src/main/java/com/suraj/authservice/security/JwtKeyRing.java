@@ -0,0 +1,778 @@
+package com.suraj.authservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.authservice.exception.KeyRotationException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.Resource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.SecureRandom;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * Key ring holding every key that JWTs may be signed or verified with.
+ * Each key is identified by the {@code kid} header of the tokens it signs. The {@link Algorithm}
+ * and signature check for a key are built once when the key is added, so looking up a key on the
+ * request path is a single map read.
+ * <p>
+ * Rotation adds a new key at runtime. The previously active key keeps verifying until the last
+ * token it could have signed has expired, after which it is dropped from the ring.
+ * <p>
+ * With an asymmetric {@code jwt.algorithm} (RS256 or ES256) the public keys are published as a
+ * JSON Web Key Set, so other services can verify tokens without the signing key.
+ * <p>
+ * When {@code jwt.key-store-file} is set, every key that did not come from configuration is written to
+ * that file together with the active key id and retirement times, and read back on startup, so rotated
+ * keys survive a restart. Once the file exists it is authoritative; the configured key only decides the
+ * active key on the very first start. Instances sharing the file re-read it every
+ * {@code jwt.key-store-reload-interval-ms}, which is how a key rotated on one instance reaches the others.
+ * Rotations re-read and write the file under an exclusive lock on {@code <key-store-file>.lock}, so any
+ * instance may rotate. The lock is per file system, so the file must be on one that honours locks.
+ * Without the file, rotated keys live in memory only.
+ */
+@Slf4j
+@Component
+public class JwtKeyRing {
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+    private static final Base64.Encoder BASE64_URL = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64_URL_DECODER = Base64.getUrlDecoder();
+
+    // Never changed in place: replaced as a whole while holding this lock, so request threads reading it
+    // without the lock always see a complete ring
+    private volatile Map<String, SigningKey> keys = Map.of();
+    private final SigningAlgorithm signingAlgorithm;
+    private final long expirationSeconds;
+    private final ObjectMapper objectMapper;
+
+    // Tokens issued before key ids were introduced carry no kid and are verified with this key
+    private final String legacyKeyId;
+
+    // The key built from jwt.* at startup, and whether its material comes from configuration (not generated)
+    private final SigningKey configuredKey;
+    private final boolean configuredKeyFromConfig;
+
+    // Encoded material of every key that has to be persisted to be recovered; guarded by this
+    private final Map<String, StoredKey> keyMaterial = new HashMap<>();
+    private final Path keyStoreFile;
+    private long keyStoreModified = -1;
+
+    private volatile SigningKey activeKey;
+    private volatile JsonWebKeySet jsonWebKeySet;
+    // Earliest retiresAt among the keys in the rendered set, or null when none is retiring
+    private volatile Instant nextRetirement;
+
+    public JwtKeyRing(@Value("${jwt.algorithm:HS256}") String algorithm,
+                      @Value("${jwt.secret-key:}") String secretKey,
+                      @Value("${jwt.private-key-location:}") String privateKeyLocation,
+                      @Value("${jwt.public-key-location:}") String publicKeyLocation,
+                      @Value("${jwt.key-id:primary}") String keyId,
+                      @Value("${jwt.expiration-seconds}") long expirationSeconds,
+                      @Value("${jwt.key-store-file:}") String keyStoreFile,
+                      ObjectMapper objectMapper) {
+        this.signingAlgorithm = SigningAlgorithm.fromName(algorithm);
+        this.expirationSeconds = expirationSeconds;
+        this.objectMapper = objectMapper;
+        this.legacyKeyId = keyId;
+        this.keyStoreFile = keyStoreFile.isEmpty() ? null : Path.of(keyStoreFile);
+
+        if (signingAlgorithm == SigningAlgorithm.HS256) {
+            if (secretKey.isEmpty()) {
+                throw new IllegalStateException("jwt.secret-key is required for HS256");
+            }
+            configuredKey = buildSecretKey(keyId, secretKey);
+            configuredKeyFromConfig = true;
+        } else if (!privateKeyLocation.isEmpty() && !publicKeyLocation.isEmpty()) {
+            configuredKey = buildKeyPairKey(keyId, loadKeyPair(privateKeyLocation, publicKeyLocation));
+            configuredKeyFromConfig = true;
+        } else {
+            KeyPair keyPair = generateKeyPair();
+            configuredKey = buildKeyPairKey(keyId, keyPair);
+            configuredKeyFromConfig = false;
+            keyMaterial.put(keyId, StoredKey.of(keyId, keyPair));
+        }
+
+        // Locked so that instances starting together agree on who creates the key store
+        try (KeyStoreLock lock = lockKeyStore()) {
+            StoredKeyRing stored = readKeyStore();
+            if (stored != null) {
+                apply(stored);
+                log.info("Loaded {} signing keys from {}, active key '{}'", keys.size(), keyStoreFile,
+                        activeKey.keyId());
+            } else {
+                keys = Map.of(keyId, configuredKey);
+                activeKey = configuredKey;
+                if (this.keyStoreFile != null) {
+                    writeKeyStore(keys, activeKey);
+                } else if (!configuredKeyFromConfig) {
+                    log.warn("No jwt.private-key-location/public-key-location or jwt.key-store-file configured, " +
+                            "generated an ephemeral {} key pair. Tokens will not verify after a restart.",
+                            signingAlgorithm);
+                }
+            }
+        }
+        refreshJsonWebKeySet();
+    }
+
+    /**
+     * Returns the key new tokens are signed with.
+     */
+    public SigningKey activeKey() {
+        return activeKey;
+    }
+
+    /**
+     * Returns the pre-rendered JSON Web Key Set of all current public keys.
+     * The set is empty for HS256, whose keys must never be published.
+     * <p>
+     * Once the earliest retirement time in the set has passed, retired keys are dropped and the set is
+     * re-rendered before it is returned, so a key is never published past its {@code retiresAt}.
+     */
+    public JsonWebKeySet jsonWebKeySet() {
+        Instant retirement = nextRetirement;
+        if (retirement != null && Instant.now().isAfter(retirement)) {
+            synchronized (this) {
+                purgeRetiredKeys();
+                refreshJsonWebKeySet();
+            }
+        }
+        return jsonWebKeySet;
+    }
+
+    /**
+     * Returns the key that verifies tokens with the given key id.
+     *
+     * @param keyId the {@code kid} header of the token, or null for tokens issued without one
+     * @return the key, to check the token's signature with
+     * @throws JWTVerificationException if the key is unknown or has been retired
+     */
+    public SigningKey keyFor(String keyId) throws JWTVerificationException {
+        SigningKey key = keys.get(keyId != null ? keyId : legacyKeyId);
+        if (key == null) {
+            throw new UnusableKeyException("Unknown signing key: " + keyId);
+        }
+        if (key.isRetiredAt(Instant.now())) {
+            synchronized (this) {
+                purgeRetiredKeys();
+                refreshJsonWebKeySet();
+            }
+            throw new UnusableKeyException("Signing key has been retired: " + keyId);
+        }
+        return key;
+    }
+
+    /**
+     * Adds a key to the ring.
+     * <p>
+     * When {@code activate} is true the new key immediately becomes the signing key and the previous
+     * one is scheduled for retirement after {@code jwt.expiration-seconds}. When false the key is only
+     * staged for verification; in a multi-instance deployment sharing {@code jwt.key-store-file}, stage
+     * the key, wait for the other instances to re-read the file, and activate it afterwards so that no
+     * instance receives a token it cannot yet verify.
+     * <p>
+     * The new state is written to the key store before it takes effect; if that fails, nothing changes.
+     * The store is re-read and written under an exclusive lock on {@code <key-store-file>.lock}, so
+     * instances rotating at the same time do not lose each other's keys. Request threads never see a
+     * partly updated ring: the new ring replaces the old one in a single write.
+     *
+     * @param keyId    the kid of the new key
+     * @param secret   the HMAC secret, or null to generate a random 256-bit secret; must be null for
+     *                 asymmetric algorithms, which always generate a new key pair
+     * @param activate whether the new key should start signing tokens
+     * @return the key that was added or activated
+     */
+    public synchronized SigningKey rotate(String keyId, String secret, boolean activate) {
+        try (KeyStoreLock lock = lockKeyStore()) {
+            // Build on what other instances have written, however recently; nobody can write while we hold the lock
+            StoredKeyRing stored = readKeyStore();
+            if (stored != null) {
+                apply(stored);
+            }
+            purgeRetiredKeys();
+
+            SigningKey existing = keys.get(keyId);
+            SigningKey key;
+            StoredKey material = null;
+            if (existing != null) {
+                // Re-submitting a staged kid without a secret is how a staged key gets activated
+                if (secret != null || !activate || existing.keyId().equals(activeKey.keyId())) {
+                    throw new KeyRotationException("Signing key already exists: " + keyId);
+                }
+                key = existing.withRetiresAt(null);
+            } else if (signingAlgorithm == SigningAlgorithm.HS256) {
+                String hmacSecret = secret != null ? secret : generateSecret();
+                key = buildSecretKey(keyId, hmacSecret);
+                material = StoredKey.of(keyId, hmacSecret);
+            } else if (secret == null) {
+                KeyPair keyPair = generateKeyPair();
+                key = buildKeyPairKey(keyId, keyPair);
+                material = StoredKey.of(keyId, keyPair);
+            } else {
+                throw new KeyRotationException("A secret cannot be supplied for " + signingAlgorithm + " keys");
+            }
+
+            SigningKey previousActive = activeKey;
+            SigningKey nextActive = previousActive;
+            Map<String, SigningKey> next = new HashMap<>(keys);
+            next.put(keyId, key);
+            Instant retiresAt = Instant.now().plusSeconds(expirationSeconds);
+            if (activate) {
+                next.put(previousActive.keyId(), previousActive.withRetiresAt(retiresAt));
+                nextActive = key;
+            }
+            if (material != null) {
+                keyMaterial.put(keyId, material);
+            }
+            try {
+                writeKeyStore(next, nextActive);
+            } catch (UncheckedIOException e) {
+                keyMaterial.remove(keyId, material);
+                throw e;
+            }
+            // The ring first, so a token signed with the new key can always be verified
+            keys = Map.copyOf(next);
+            activeKey = nextActive;
+
+            if (activate) {
+                log.info("Signing key '{}' activated, key '{}' retires at {}", keyId, previousActive.keyId(), retiresAt);
+            } else {
+                log.info("Signing key '{}' staged for verification", keyId);
+            }
+            refreshJsonWebKeySet();
+            return key;
+        }
+    }
+
+    /**
+     * Re-reads {@code jwt.key-store-file} when another instance has changed it since it was last read or
+     * written here, and replaces the ring with its content.
+     */
+    @Scheduled(fixedDelayString = "${jwt.key-store-reload-interval-ms:30000}")
+    public synchronized void reloadKeyStore() {
+        if (keyStoreFile == null || keyStoreLastModified() == keyStoreModified) {
+            return;
+        }
+        try {
+            StoredKeyRing stored = readKeyStore();
+            if (stored != null) {
+                String previousActive = activeKey.keyId();
+                apply(stored);
+                refreshJsonWebKeySet();
+                if (!previousActive.equals(activeKey.keyId())) {
+                    log.info("Signing key '{}' activated from {}", activeKey.keyId(), keyStoreFile);
+                }
+            }
+        } catch (UncheckedIOException | IllegalStateException e) {
+            // Keep the keys we have; the next reload tries again
+            log.error("Failed to reload signing keys from {}", keyStoreFile, e);
+        }
+    }
+
+    // Callers hold this lock
+    private void purgeRetiredKeys() {
+        Instant now = Instant.now();
+        if (keys.values().stream().anyMatch(key -> key.isRetiredAt(now))) {
+            Map<String, SigningKey> next = new HashMap<>(keys);
+            next.values().removeIf(key -> key.isRetiredAt(now));
+            keys = Map.copyOf(next);
+        }
+        keyMaterial.keySet().retainAll(keys.keySet());
+    }
+
+    // Replaces the ring with the stored keys; the configured key keeps its configured material
+    private void apply(StoredKeyRing stored) {
+        Instant now = Instant.now();
+        Map<String, SigningKey> loaded = new HashMap<>();
+        Map<String, StoredKey> loadedMaterial = new HashMap<>();
+        for (StoredKey entry : stored.keys()) {
+            if (entry.retiresAt() != null && now.isAfter(entry.retiresAt())) {
+                continue;
+            }
+            SigningKey key;
+            if (entry.keyId().equals(configuredKey.keyId()) && configuredKeyFromConfig) {
+                key = configuredKey;
+            } else if (entry.hasMaterial()) {
+                key = entry.toSigningKey(this);
+                loadedMaterial.put(entry.keyId(), entry.withRetiresAt(null));
+            } else {
+                log.warn("Signing key '{}' in {} has no key material, skipped", entry.keyId(), keyStoreFile);
+                continue;
+            }
+            loaded.put(entry.keyId(), key.withRetiresAt(entry.retiresAt()));
+        }
+
+        SigningKey active = loaded.get(stored.activeKeyId());
+        if (active == null) {
+            throw new IllegalStateException("Active signing key '" + stored.activeKeyId() + "' is missing from " +
+                    keyStoreFile);
+        }
+        keys = Map.copyOf(loaded);
+        keyMaterial.clear();
+        keyMaterial.putAll(loadedMaterial);
+        activeKey = active;
+    }
+
+    private StoredKeyRing readKeyStore() {
+        if (keyStoreFile == null || !Files.exists(keyStoreFile)) {
+            return null;
+        }
+        try {
+            long modified = keyStoreLastModified();
+            StoredKeyRing stored = objectMapper.readValue(keyStoreFile.toFile(), StoredKeyRing.class);
+            keyStoreModified = modified;
+            return stored;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read signing keys from " + keyStoreFile, e);
+        }
+    }
+
+    // Writes the ring to a temporary file of its own, readable only by its owner, then moves it over the key store
+    private void writeKeyStore(Map<String, SigningKey> ring, SigningKey active) {
+        if (keyStoreFile == null) {
+            return;
+        }
+        List<StoredKey> entries = new ArrayList<>();
+        for (SigningKey key : ring.values()) {
+            StoredKey material = keyMaterial.get(key.keyId());
+            entries.add(material != null
+                    ? material.withRetiresAt(key.retiresAt())
+                    : new StoredKey(key.keyId(), null, null, null, key.retiresAt()));
+        }
+        Path temp = null;
+        try {
+            Path directory = keyStoreDirectory();
+            String prefix = keyStoreFile.getFileName() + ".";
+            temp = FileSystems.getDefault().supportedFileAttributeViews().contains("posix")
+                    ? Files.createTempFile(directory, prefix, ".tmp",
+                            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")))
+                    : Files.createTempFile(directory, prefix, ".tmp");
+            objectMapper.writeValue(temp.toFile(), new StoredKeyRing(active.keyId(), entries));
+            Files.move(temp, keyStoreFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            keyStoreModified = keyStoreLastModified();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write signing keys to " + keyStoreFile, e);
+        } finally {
+            deleteQuietly(temp);
+        }
+    }
+
+    /**
+     * Takes an exclusive lock on {@code <key-store-file>.lock}, held until the returned lock is closed.
+     * This monitor only orders threads of this instance; the file lock orders instances sharing the store.
+     */
+    private KeyStoreLock lockKeyStore() {
+        if (keyStoreFile == null) {
+            return () -> {
+            };
+        }
+        Path lockFile = keyStoreFile.resolveSibling(keyStoreFile.getFileName() + ".lock");
+        try {
+            keyStoreDirectory();
+            FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            try {
+                channel.lock();
+            } catch (IOException | RuntimeException e) {
+                channel.close();
+                throw e;
+            }
+            return () -> {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to release {}: {}", lockFile, e.getMessage());
+                }
+            };
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to lock " + lockFile, e);
+        }
+    }
+
+    private Path keyStoreDirectory() throws IOException {
+        Path directory = keyStoreFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        return directory;
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}: {}", file, e.getMessage());
+        }
+    }
+
+    private long keyStoreLastModified() {
+        try {
+            return Files.exists(keyStoreFile) ? Files.getLastModifiedTime(keyStoreFile).toMillis() : -1;
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    private SigningKey buildSecretKey(String keyId, String secret) {
+        return new SigningKey(keyId, Algorithm.HMAC256(secret), hmacSignatureCheck(secret), null, null);
+    }
+
+    private SigningKey buildKeyPairKey(String keyId, KeyPair keyPair) {
+        Algorithm algorithm = switch (signingAlgorithm) {
+            case RS256 -> Algorithm.RSA256((RSAPublicKey) keyPair.getPublic(), (RSAPrivateKey) keyPair.getPrivate());
+            case ES256 -> Algorithm.ECDSA256((ECPublicKey) keyPair.getPublic(), (ECPrivateKey) keyPair.getPrivate());
+            case HS256 -> throw new IllegalStateException("HS256 keys are not key pairs");
+        };
+        return new SigningKey(keyId, algorithm, algorithmSignatureCheck(algorithm), keyPair.getPublic(), null);
+    }
+
+    /**
+     * Checks HMAC signatures over the raw token, before its payload is parsed, rather than through
+     * {@link Algorithm#verify}, which needs a decoded token and reports a mismatch by throwing an exception
+     * with a stack trace. A forged token then costs one MAC and a comparison. The initialised Mac is cloned
+     * per check, as Mac instances are not thread-safe.
+     */
+    private static Predicate<String> hmacSignatureCheck(String secret) {
+        Mac prototype;
+        try {
+            prototype = Mac.getInstance("HmacSHA256");
+            prototype.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 is not available", e);
+        }
+        return token -> {
+            int signatureStart = token.lastIndexOf('.') + 1;
+            byte[] signature;
+            try {
+                signature = BASE64_URL_DECODER.decode(token.substring(signatureStart));
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+            Mac mac;
+            try {
+                mac = (Mac) prototype.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException("HmacSHA256 cannot be cloned", e);
+            }
+            mac.update(token.substring(0, signatureStart - 1).getBytes(StandardCharsets.UTF_8));
+            return MessageDigest.isEqual(mac.doFinal(), signature);
+        };
+    }
+
+    /**
+     * Checks RSA and ECDSA signatures through the {@link Algorithm}. Decoding the token for it, and the
+     * exception thrown on a mismatch, are small next to the public key operation.
+     */
+    private static Predicate<String> algorithmSignatureCheck(Algorithm algorithm) {
+        return token -> {
+            try {
+                algorithm.verify(JWT.decode(token));
+                return true;
+            } catch (SignatureVerificationException e) {
+                return false;
+            }
+        };
+    }
+
+    private KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance(signingAlgorithm.keyFactoryAlgorithm);
+            if (signingAlgorithm == SigningAlgorithm.RS256) {
+                generator.initialize(2048, SECURE_RANDOM);
+            } else {
+                generator.initialize(new ECGenParameterSpec("secp256r1"), SECURE_RANDOM);
+            }
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate " + signingAlgorithm + " key pair", e);
+        }
+    }
+
+    private KeyPair loadKeyPair(String privateKeyLocation, String publicKeyLocation) {
+        return decodeKeyPair(readPem(privateKeyLocation), readPem(publicKeyLocation));
+    }
+
+    private KeyPair decodeKeyPair(byte[] privateKey, byte[] publicKey) {
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance(signingAlgorithm.keyFactoryAlgorithm);
+            return new KeyPair(
+                    keyFactory.generatePublic(new X509EncodedKeySpec(publicKey)),
+                    keyFactory.generatePrivate(new PKCS8EncodedKeySpec(privateKey)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to load " + signingAlgorithm + " key pair", e);
+        }
+    }
+
+    // Reads a PEM file (PKCS#8 private key or X.509 public key) and returns its DER bytes
+    private static byte[] readPem(String location) {
+        Resource resource = new DefaultResourceLoader().getResource(location);
+        try {
+            String pem = resource.getContentAsString(StandardCharsets.US_ASCII);
+            String base64 = pem.replaceAll("-----(BEGIN|END) [A-Z ]+-----", "").replaceAll("\\s", "");
+            return Base64.getDecoder().decode(base64);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read key file " + location, e);
+        }
+    }
+
+    private static String generateSecret() {
+        byte[] bytes = new byte[32];
+        SECURE_RANDOM.nextBytes(bytes);
+        return Base64.getEncoder().encodeToString(bytes);
+    }
+
+    private synchronized void refreshJsonWebKeySet() {
+        Instant now = Instant.now();
+        List<SigningKey> published = keys.values().stream()
+                .filter(key -> key.publicKey() != null && !key.isRetiredAt(now))
+                .toList();
+        List<Map<String, String>> jwks = published.stream()
+                .map(this::toJwk)
+                .toList();
+        nextRetirement = published.stream()
+                .map(SigningKey::retiresAt)
+                .filter(Objects::nonNull)
+                .min(Comparator.naturalOrder())
+                .orElse(null);
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(Map.of("keys", jwks));
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            String eTag = "\"" + BASE64_URL.encodeToString(Arrays.copyOf(digest, 16)) + "\"";
+            jsonWebKeySet = new JsonWebKeySet(json, eTag);
+        } catch (JsonProcessingException | GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to render JSON Web Key Set", e);
+        }
+    }
+
+    private Map<String, String> toJwk(SigningKey key) {
+        Map<String, String> jwk = new LinkedHashMap<>();
+        if (key.publicKey() instanceof RSAPublicKey rsa) {
+            jwk.put("kty", "RSA");
+            jwk.put("n", base64Url(rsa.getModulus(), 0));
+            jwk.put("e", base64Url(rsa.getPublicExponent(), 0));
+        } else if (key.publicKey() instanceof ECPublicKey ec) {
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url(ec.getW().getAffineX(), 32));
+            jwk.put("y", base64Url(ec.getW().getAffineY(), 32));
+        }
+        jwk.put("kid", key.keyId());
+        jwk.put("use", "sig");
+        jwk.put("alg", key.algorithm().getName());
+        return jwk;
+    }
+
+    // Unsigned big-endian encoding, left-padded to length when it is non-zero (RFC 7518 section 6)
+    private static String base64Url(BigInteger value, int length) {
+        byte[] bytes = value.toByteArray();
+        if (bytes.length > 1 && bytes[0] == 0) {
+            bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+        }
+        if (length > bytes.length) {
+            byte[] padded = new byte[length];
+            System.arraycopy(bytes, 0, padded, length - bytes.length, bytes.length);
+            bytes = padded;
+        }
+        return BASE64_URL.encodeToString(bytes);
+    }
+
+    /**
+     * Supported {@code jwt.algorithm} values.
+     */
+    private enum SigningAlgorithm {
+        HS256(null),
+        RS256("RSA"),
+        ES256("EC");
+
+        private final String keyFactoryAlgorithm;
+
+        SigningAlgorithm(String keyFactoryAlgorithm) {
+            this.keyFactoryAlgorithm = keyFactoryAlgorithm;
+        }
+
+        static SigningAlgorithm fromName(String name) {
+            return Arrays.stream(values())
+                    .filter(value -> value.name().equalsIgnoreCase(name))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Unsupported jwt.algorithm '" + name + "', expected one of " + Arrays.toString(values())));
+        }
+    }
+
+    /**
+     * A signing key together with its pre-built signature check.
+     *
+     * @param signatureCheck tests a token's signature against this key, returning false on a mismatch
+     * @param publicKey      the public half of an asymmetric key, or null for HMAC keys
+     * @param retiresAt      the instant after which the key no longer verifies tokens, or null while it is current
+     */
+    public record SigningKey(String keyId, Algorithm algorithm, Predicate<String> signatureCheck,
+                             PublicKey publicKey, Instant retiresAt) {
+
+        /**
+         * Verifies the signature of a token, and nothing else; the claims are left to the caller.
+         *
+         * @param token     the token, made of exactly three parts
+         * @param algorithm the {@code alg} header of the token
+         * @throws AlgorithmMismatchException     if the token's {@code alg} header names another algorithm
+         * @throws SignatureVerificationException if the signature does not match
+         */
+        public void verifySignature(String token, String algorithm) throws JWTVerificationException {
+            if (!this.algorithm.getName().equals(algorithm)) {
+                throw new AlgorithmMismatchException(
+                        "The provided Algorithm doesn't match the one defined in the JWT's Header.");
+            }
+            if (!signatureCheck.test(token)) {
+                throw new ForgedSignatureException(this.algorithm);
+            }
+        }
+
+        boolean isRetiredAt(Instant instant) {
+            return retiresAt != null && instant.isAfter(retiresAt);
+        }
+
+        SigningKey withRetiresAt(Instant retiresAt) {
+            return new SigningKey(keyId, algorithm, signatureCheck, publicKey, retiresAt);
+        }
+    }
+
+    /**
+     * Thrown for tokens whose signature does not match. Forged tokens can arrive in floods and the filters
+     * only need the type, so no stack trace is captured.
+     */
+    private static final class ForgedSignatureException extends SignatureVerificationException {
+
+        private ForgedSignatureException(Algorithm algorithm) {
+            super(algorithm);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * Thrown for tokens naming an unknown or retired key, without a stack trace for the same reason.
+     */
+    private static final class UnusableKeyException extends JWTVerificationException {
+
+        private UnusableKeyException(String message) {
+            super(message);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * An exclusive lock on the key store, released on close.
+     */
+    private interface KeyStoreLock extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Content of {@code jwt.key-store-file}.
+     */
+    private record StoredKeyRing(String activeKeyId, List<StoredKey> keys) {
+    }
+
+    /**
+     * A key as written to the key store, its material base64-encoded. Keys whose material comes from
+     * configuration are stored without it, only to keep their retirement time.
+     *
+     * @param secret     the HMAC secret, for HS256 keys
+     * @param privateKey the PKCS#8 private key, for RS256 and ES256 keys
+     * @param publicKey  the X.509 public key, for RS256 and ES256 keys
+     */
+    private record StoredKey(String keyId, String secret, String privateKey, String publicKey, Instant retiresAt) {
+
+        static StoredKey of(String keyId, String secret) {
+            return new StoredKey(keyId, secret, null, null, null);
+        }
+
+        static StoredKey of(String keyId, KeyPair keyPair) {
+            Base64.Encoder encoder = Base64.getEncoder();
+            return new StoredKey(keyId, null, encoder.encodeToString(keyPair.getPrivate().getEncoded()),
+                    encoder.encodeToString(keyPair.getPublic().getEncoded()), null);
+        }
+
+        boolean hasMaterial() {
+            return secret != null || (privateKey != null && publicKey != null);
+        }
+
+        StoredKey withRetiresAt(Instant retiresAt) {
+            return new StoredKey(keyId, secret, privateKey, publicKey, retiresAt);
+        }
+
+        SigningKey toSigningKey(JwtKeyRing keyRing) {
+            if (keyRing.signingAlgorithm == SigningAlgorithm.HS256) {
+                if (secret == null) {
+                    throw new IllegalStateException("Signing key '" + keyId + "' is not an HS256 key");
+                }
+                return keyRing.buildSecretKey(keyId, secret);
+            }
+            if (privateKey == null) {
+                throw new IllegalStateException("Signing key '" + keyId + "' is not a " + keyRing.signingAlgorithm + " key");
+            }
+            Base64.Decoder decoder = Base64.getDecoder();
+            return keyRing.buildKeyPairKey(keyId,
+                    keyRing.decodeKeyPair(decoder.decode(privateKey), decoder.decode(publicKey)));
+        }
+    }
+
+    /**
+     * A rendered JSON Web Key Set and its entity tag.
+     */
+    public record JsonWebKeySet(byte[] json, String eTag) {
+    }
+}
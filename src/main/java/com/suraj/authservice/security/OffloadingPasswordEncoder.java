@@ -0,0 +1,39 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.metrics.AuthMetrics;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that runs the expensive {@code encode} and {@code matches} calls of its
+ * delegate on the {@link PasswordHashingExecutor} instead of the calling request thread.
+ * Both are timed end to end, so queueing shows up in the latency the caller sees.
+ */
+public class OffloadingPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final PasswordHashingExecutor executor;
+    private final AuthMetrics metrics;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, PasswordHashingExecutor executor, AuthMetrics metrics) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return metrics.passwordEncode().record(() -> executor.execute(() -> delegate.encode(rawPassword)));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return metrics.passwordMatch().record(
+                () -> executor.execute(() -> delegate.matches(rawPassword, encodedPassword)));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        // Only inspects the hash prefix, cheap enough to stay on the caller
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -0,0 +1,104 @@
+package com.suraj.authservice.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Builds the {@link CalibratedPasswordEncoder} from {@code auth.password-hashing.*}.
+ * <p>
+ * With {@code target-latency-ms: 0} the configured work factor is used as is. Otherwise the work factor is
+ * benchmarked on this machine at startup and the strongest one whose median hash time fits the budget is
+ * chosen, never going below the configured minimum: BCrypt strength for {@code bcrypt}, the iteration
+ * count (at the configured memory) for {@code argon2id}.
+ */
+@Slf4j
+@Component
+public class PasswordEncoderCalibrator {
+
+    private static final int SAMPLES = 3;
+    private static final int MAX_BCRYPT_STRENGTH = 16;
+    private static final int MAX_ARGON2_ITERATIONS = 16;
+    private static final String SAMPLE_PASSWORD = "Calibration@Password1";
+
+    private final String algorithm;
+    private final long targetLatencyMillis;
+    private final int bcryptStrength;
+    private final int argon2MemoryKib;
+    private final int argon2Iterations;
+    private final int argon2Parallelism;
+
+    public PasswordEncoderCalibrator(@Value("${auth.password-hashing.algorithm:bcrypt}") String algorithm,
+                                     @Value("${auth.password-hashing.target-latency-ms:0}") long targetLatencyMillis,
+                                     @Value("${auth.password-hashing.bcrypt-strength:12}") int bcryptStrength,
+                                     @Value("${auth.password-hashing.argon2-memory-kib:19456}") int argon2MemoryKib,
+                                     @Value("${auth.password-hashing.argon2-iterations:2}") int argon2Iterations,
+                                     @Value("${auth.password-hashing.argon2-parallelism:1}") int argon2Parallelism) {
+        this.algorithm = algorithm;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.bcryptStrength = bcryptStrength;
+        this.argon2MemoryKib = argon2MemoryKib;
+        this.argon2Iterations = argon2Iterations;
+        this.argon2Parallelism = argon2Parallelism;
+    }
+
+    public CalibratedPasswordEncoder build() {
+        CalibratedPasswordEncoder encoder = switch (algorithm.toLowerCase()) {
+            case "bcrypt" -> CalibratedPasswordEncoder.bcrypt(calibrateBcryptStrength());
+            case "argon2id", "argon2" -> CalibratedPasswordEncoder.argon2(
+                    argon2MemoryKib, calibrateArgon2Iterations(), argon2Parallelism);
+            default -> throw new IllegalStateException(
+                    "Unsupported auth.password-hashing.algorithm '" + algorithm + "', expected bcrypt or argon2id");
+        };
+        log.info("Password hashing target: {}", encoder);
+        return encoder;
+    }
+
+    private int calibrateBcryptStrength() {
+        int strength = bcryptStrength;
+        if (targetLatencyMillis <= 0) {
+            return strength;
+        }
+        // Each step doubles the cost, so stop at the first strength over budget
+        while (strength < MAX_BCRYPT_STRENGTH
+                && medianMillis(new BCryptPasswordEncoder(strength + 1)) <= targetLatencyMillis) {
+            strength++;
+        }
+        log.info("Calibrated BCrypt strength {} for a {} ms budget", strength, targetLatencyMillis);
+        return strength;
+    }
+
+    private int calibrateArgon2Iterations() {
+        int iterations = argon2Iterations;
+        if (targetLatencyMillis <= 0) {
+            return iterations;
+        }
+        while (iterations < MAX_ARGON2_ITERATIONS
+                && medianMillis(argon2(iterations + 1)) <= targetLatencyMillis) {
+            iterations++;
+        }
+        log.info("Calibrated Argon2id iterations {} at {} KiB for a {} ms budget",
+                iterations, argon2MemoryKib, targetLatencyMillis);
+        return iterations;
+    }
+
+    private PasswordEncoder argon2(int iterations) {
+        return new Argon2PasswordEncoder(16, 32, argon2Parallelism, argon2MemoryKib, iterations);
+    }
+
+    private static long medianMillis(PasswordEncoder encoder) {
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            samples[i] = (System.nanoTime() - start) / 1_000_000;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2];
+    }
+}
@@ -0,0 +1,127 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.exception.PasswordHashingOverloadedException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Dedicated, CPU-sized pool that runs password hashing and verification.
+ * <p>
+ * BCrypt takes hundreds of milliseconds per call, so running it directly on request threads lets a login
+ * burst starve cheap authenticated traffic. Here at most {@code threads} hashes run at once and at most
+ * {@code queue-capacity} wait; anything beyond that fails fast with
+ * {@link PasswordHashingOverloadedException}, which is returned to the client as 503 with Retry-After.
+ */
+@Slf4j
+@Component
+public class PasswordHashingExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final long maxWaitMillis;
+    private final long retryAfterSeconds;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAdder totalHashNanos = new LongAdder();
+
+    public PasswordHashingExecutor(@Value("${auth.password-hashing.threads:0}") int threads,
+                                   @Value("${auth.password-hashing.queue-capacity:0}") int queueCapacity,
+                                   @Value("${auth.password-hashing.max-wait-ms:2000}") long maxWaitMillis,
+                                   @Value("${auth.password-hashing.retry-after-seconds:1}") long retryAfterSeconds) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+        AtomicInteger threadCount = new AtomicInteger();
+
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.maxWaitMillis = maxWaitMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        log.info("Password hashing executor started with {} threads and queue capacity {}", poolSize, capacity);
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @throws PasswordHashingOverloadedException if the queue is full or the task did not finish within
+     *                                            {@code auth.password-hashing.max-wait-ms}
+     */
+    public <T> T execute(Callable<T> task) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                totalWaitNanos.add(startedAt - submittedAt);
+                try {
+                    return task.call();
+                } finally {
+                    totalHashNanos.add(System.nanoTime() - startedAt);
+                    completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingOverloadedException("Password hashing capacity exceeded", retryAfterSeconds);
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false);
+            rejected.increment();
+            throw new PasswordHashingOverloadedException("Password hashing timed out", retryAfterSeconds);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    public HashingStats stats() {
+        return new HashingStats(executor.getQueue().size(), executor.getActiveCount(), completed.sum(),
+                rejected.sum(), totalWaitNanos.sum(), totalHashNanos.sum());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Point-in-time executor counters.
+     *
+     * @param queueDepth     tasks waiting for a thread
+     * @param active         tasks currently hashing
+     * @param totalWaitNanos cumulative time completed tasks spent queued
+     * @param totalHashNanos cumulative time completed tasks spent hashing
+     */
+    public record HashingStats(int queueDepth, int active, long completed, long rejected,
+                               long totalWaitNanos, long totalHashNanos) {
+    }
+}
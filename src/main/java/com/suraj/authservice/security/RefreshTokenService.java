@@ -0,0 +1,135 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.RefreshToken;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.exception.AuthenticationFailedException;
+import com.suraj.authservice.repository.RefreshTokenRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens.
+ * <p>
+ * Tokens are 256 random bits and only their SHA-256 hash is stored, so a refresh costs one indexed lookup
+ * and no password hashing. A slow hash buys nothing here: the input is random, not a guessable password.
+ * Each token can be exchanged once; presenting an already used token means it was copied, so the
+ * whole family that login started is revoked and both the thief and the owner have to log in again.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    @Value("${jwt.refresh-expiration-seconds:1209600}") // 14 days default
+    private long refreshExpirationSeconds;
+
+    /**
+     * Starts a new token family for a fresh login.
+     *
+     * @return the refresh token to hand to the client
+     */
+    @Transactional
+    public String issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family.
+     * Reuse is recorded even though the call fails, hence no rollback on AuthenticationFailedException.
+     *
+     * @param token the refresh token presented by the client
+     * @return the replacement token and the user it belongs to
+     * @throws AuthenticationFailedException if the token is unknown, expired, revoked or already used
+     */
+    @Transactional(noRollbackFor = AuthenticationFailedException.class)
+    public RotatedToken rotate(String token) {
+        RefreshToken current = refreshTokenRepository.findByTokenHash(hash(token))
+                .orElseThrow(() -> new AuthenticationFailedException("Invalid refresh token"));
+        Instant now = Instant.now();
+
+        if (current.isRevoked()) {
+            throw new AuthenticationFailedException("Refresh token has been revoked");
+        }
+        if (!current.getExpiresAt().isAfter(now)) {
+            throw new AuthenticationFailedException("Refresh token has expired");
+        }
+        // The conditional update also settles two concurrent refreshes with the same token: only one wins
+        if (current.getUsedAt() != null || refreshTokenRepository.markUsed(current.getId(), now) == 0) {
+            refreshTokenRepository.revokeFamily(current.getFamilyId());
+            log.warn("Refresh token reuse detected for user {}, revoked token family {}",
+                    current.getUser().getUsername(), current.getFamilyId());
+            throw new AuthenticationFailedException("Refresh token has already been used");
+        }
+
+        String next = issue(current.getUser(), current.getFamilyId());
+        return new RotatedToken(next, current.getUser());
+    }
+
+    /**
+     * Revokes the family the token belongs to. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String token) {
+        refreshTokenRepository.findByTokenHash(hash(token))
+                .ifPresent(refreshToken -> refreshTokenRepository.revokeFamily(refreshToken.getFamilyId()));
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval-ms:3600000}")
+    @Transactional
+    public void purgeExpired() {
+        int purged = refreshTokenRepository.deleteExpired(Instant.now());
+        if (purged > 0) {
+            log.debug("Purged {} expired refresh tokens", purged);
+        }
+    }
+
+    private String issue(User user, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = ENCODER.encodeToString(bytes);
+
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(token));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setUser(user);
+        refreshToken.setExpiresAt(Instant.now().plusSeconds(refreshExpirationSeconds));
+        refreshTokenRepository.save(refreshToken);
+        return token;
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Result of a successful rotation.
+     *
+     * @param refreshToken the token that replaces the one presented
+     * @param user         the owner, loaded with the token so the access token reflects the current role
+     */
+    public record RotatedToken(String refreshToken, User user) {
+    }
+}
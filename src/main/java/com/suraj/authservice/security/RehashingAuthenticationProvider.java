@@ -0,0 +1,34 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.exception.PasswordHashingOverloadedException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * {@link DaoAuthenticationProvider} whose re-hash after a successful login is best effort.
+ * <p>
+ * The re-hash runs through the offloading encoder after the password has already matched, so when the
+ * hashing pool is saturated it would turn a correct login into a 503. Instead the old hash is kept and the
+ * upgrade is left to the user's next login.
+ */
+@Slf4j
+public class RehashingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        try {
+            return super.createSuccessAuthentication(principal, authentication, user);
+        } catch (PasswordHashingOverloadedException e) {
+            log.debug("Skipped re-hashing the password of {}: {}", user.getUsername(), e.getMessage());
+            // What the base provider returns without an upgrade; no authorities mapper is configured here
+            UsernamePasswordAuthenticationToken result = UsernamePasswordAuthenticationToken.authenticated(
+                    principal, authentication.getCredentials(), user.getAuthorities());
+            result.setDetails(authentication.getDetails());
+            return result;
+        }
+    }
+}
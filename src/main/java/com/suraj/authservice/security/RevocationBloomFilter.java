@@ -0,0 +1,81 @@
+package com.suraj.authservice.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over token ids.
+ * Lookups read an {@link AtomicLongArray} without locking and hash the id in place, so answering
+ * "definitely not revoked" allocates nothing. Entries cannot be removed; {@link TokenRevocationStore}
+ * rebuilds a fresh filter when revoked tokens expire.
+ * <p>
+ * The bit count is rounded up to a power of two, so a probe is a mask rather than a division and the
+ * odd probe step of double hashing visits {@code hashCount} distinct bits.
+ */
+class RevocationBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitMask;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions the number of ids the filter is sized for
+     * @param falsePositiveRate  the target false-positive probability at that size
+     */
+    RevocationBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (m + 63) / 64);
+        words = Integer.highestOneBit(words) == words ? words : Integer.highestOneBit(words) << 1;
+        long bitCount = words * 64L;
+        this.bits = new AtomicLongArray(words);
+        this.bitMask = bitCount - 1;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void put(String id) {
+        long h1 = mix(id.hashCode());
+        long h2 = secondHash(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            do {
+                current = bits.get(word);
+            } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(String id) {
+        long h1 = mix(id.hashCode());
+        long h2 = secondHash(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = (h1 + i * h2) & bitMask;
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // FNV-1a over the chars, independent of String.hashCode()
+    private static long secondHash(String id) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < id.length(); i++) {
+            hash ^= id.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // Odd, hence coprime with the power-of-two bit count: the probes of one id never repeat a bit
+        return mix(hash) | 1L;
+    }
+
+    // MurmurHash3 finalizer
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
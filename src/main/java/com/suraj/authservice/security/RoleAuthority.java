@@ -0,0 +1,64 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The {@link GrantedAuthority} for a {@link Role}, one shared instance per role.
+ * <p>
+ * Carrying the enum lets role checks compare ordinals instead of authority strings; see
+ * {@link RoleAuthorization}. {@link #toString()} is the authority name, as for
+ * {@code SimpleGrantedAuthority}, so the {@code roles} claim written from {@code getAuthorities()} is unchanged.
+ */
+public final class RoleAuthority implements GrantedAuthority {
+
+    private static final RoleAuthority[] BY_ROLE = new RoleAuthority[Role.values().length];
+    private static final Map<String, RoleAuthority> BY_NAME = new HashMap<>();
+
+    static {
+        for (Role role : Role.values()) {
+            RoleAuthority authority = new RoleAuthority(role);
+            BY_ROLE[role.ordinal()] = authority;
+            BY_NAME.put(role.name(), authority);
+        }
+    }
+
+    private final Role role;
+
+    private RoleAuthority(Role role) {
+        this.role = role;
+    }
+
+    public static RoleAuthority of(Role role) {
+        return BY_ROLE[role.ordinal()];
+    }
+
+    /**
+     * @return the authority for a role name such as {@code ROLE_ADMIN}, or null if it names no role
+     */
+    public static RoleAuthority of(String authority) {
+        return BY_NAME.get(authority);
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    @Override
+    public String getAuthority() {
+        return role.name();
+    }
+
+    @Override
+    public String toString() {
+        return role.name();
+    }
+
+    // Keep one instance per role across serialization
+    private Object readResolve() {
+        return of(role);
+    }
+}
@@ -0,0 +1,88 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import org.springframework.security.access.hierarchicalroles.RoleHierarchy;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The role hierarchy, taken from the declaration order of {@link Role}: each role includes every role
+ * declared before it, from {@code ROLE_USER} up to {@code ROLE_ADMIN}.
+ * <p>
+ * {@link #atLeast(Authentication, Role)} is the check used by the route rules and, as
+ * {@code @roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')}, by {@code @PreAuthorize}; it compares
+ * ordinals, so it costs one pass over the (usually single) granted authority. As a {@link RoleHierarchy}
+ * it also backs {@code hasRole} expressions, with the reachable authorities of each role built once.
+ */
+@Component("roleAuthorization")
+public class RoleAuthorization implements RoleHierarchy {
+
+    public static final int NO_ROLE = -1;
+
+    private static final List<List<GrantedAuthority>> REACHABLE;
+
+    static {
+        List<List<GrantedAuthority>> reachable = new ArrayList<>();
+        List<GrantedAuthority> below = new ArrayList<>();
+        for (Role role : Role.values()) {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            authorities.add(RoleAuthority.of(role));
+            for (int i = below.size() - 1; i >= 0; i--) {
+                authorities.add(below.get(i));
+            }
+            reachable.add(List.copyOf(authorities));
+            below.add(RoleAuthority.of(role));
+        }
+        REACHABLE = List.copyOf(reachable);
+    }
+
+    /**
+     * Whether the authenticated user's highest role is {@code minimum} or above.
+     */
+    public boolean atLeast(Authentication authentication, Role minimum) {
+        return authentication != null && authentication.isAuthenticated()
+                && level(authentication.getAuthorities()) >= minimum.ordinal();
+    }
+
+    /**
+     * Returns the ordinal of the highest role among the authorities, or {@link #NO_ROLE}.
+     */
+    public static int level(Collection<? extends GrantedAuthority> authorities) {
+        int level = NO_ROLE;
+        for (GrantedAuthority authority : authorities) {
+            RoleAuthority roleAuthority = authority instanceof RoleAuthority known
+                    ? known
+                    : RoleAuthority.of(authority.getAuthority());
+            if (roleAuthority != null && roleAuthority.getRole().ordinal() > level) {
+                level = roleAuthority.getRole().ordinal();
+            }
+        }
+        return level;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getReachableGrantedAuthorities(
+            Collection<? extends GrantedAuthority> authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return List.of();
+        }
+        int level = level(authorities);
+        if (authorities.size() == 1 && level != NO_ROLE) {
+            return REACHABLE.get(level);
+        }
+
+        // Several authorities, or ones that are not roles: keep them all and add what the highest role reaches
+        Set<GrantedAuthority> reachable = new LinkedHashSet<>(authorities);
+        if (level != NO_ROLE) {
+            reachable.addAll(REACHABLE.get(level));
+        }
+        return reachable;
+    }
+}
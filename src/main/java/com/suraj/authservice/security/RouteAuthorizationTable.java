@@ -0,0 +1,203 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.Role;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Route access rules compiled into a path trie, used as the single {@link AuthorizationManager} for all
+ * requests and by {@link JwtAuthenticationFilter} to skip token work on public routes.
+ * <p>
+ * Patterns are {@code /}-separated literal segments, with {@code *} for exactly one segment and a trailing
+ * {@code **} for the path itself and anything below it. A lookup walks the path once, trying literal
+ * segments before {@code *} before {@code **}, so the most specific pattern wins regardless of declaration
+ * order and the cost depends on the depth of the path rather than the number of rules. Paths that match no
+ * pattern fall back to the default rule.
+ */
+public class RouteAuthorizationTable implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+    private static final AuthenticationTrustResolver TRUST_RESOLVER = new AuthenticationTrustResolverImpl();
+
+    private final Node root;
+    private final Rule defaultRule;
+
+    private RouteAuthorizationTable(Node root, Rule defaultRule) {
+        this.root = root;
+        this.defaultRule = defaultRule;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Rule rule = ruleFor(requestPath(context.getRequest()));
+        return switch (rule.access()) {
+            case PERMIT_ALL -> GRANTED;
+            case AUTHENTICATED -> isAuthenticated(authentication.get()) ? GRANTED : DENIED;
+            case MIN_ROLE -> hasRoleLevel(authentication.get(), rule.minLevel()) ? GRANTED : DENIED;
+        };
+    }
+
+    /**
+     * Whether the request targets a route that anyone may call, so no credentials need to be checked.
+     */
+    public boolean isPublic(HttpServletRequest request) {
+        return ruleFor(requestPath(request)).access() == Access.PERMIT_ALL;
+    }
+
+    Rule ruleFor(String path) {
+        Rule rule = match(root, path, 0);
+        return rule != null ? rule : defaultRule;
+    }
+
+    private static Rule match(Node node, String path, int from) {
+        int start = from;
+        while (start < path.length() && path.charAt(start) == '/') {
+            start++;
+        }
+        if (start == path.length()) {
+            return node.exact != null ? node.exact : node.remainder;
+        }
+        int end = path.indexOf('/', start);
+        if (end < 0) {
+            end = path.length();
+        }
+
+        Node literal = node.children.get(path.substring(start, end));
+        if (literal != null) {
+            Rule rule = match(literal, path, end);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        if (node.wildcard != null) {
+            Rule rule = match(node.wildcard, path, end);
+            if (rule != null) {
+                return rule;
+            }
+        }
+        return node.remainder;
+    }
+
+    // Decoded and relative to the context path, the same path Spring MVC maps to a handler
+    private static String requestPath(HttpServletRequest request) {
+        String pathInfo = request.getPathInfo();
+        return pathInfo != null ? request.getServletPath() + pathInfo : request.getServletPath();
+    }
+
+    private static boolean isAuthenticated(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated() && !TRUST_RESOLVER.isAnonymous(authentication);
+    }
+
+    private static boolean hasRoleLevel(Authentication authentication, int minLevel) {
+        return isAuthenticated(authentication) && RoleAuthorization.level(authentication.getAuthorities()) >= minLevel;
+    }
+
+    enum Access {
+        PERMIT_ALL,
+        AUTHENTICATED,
+        MIN_ROLE
+    }
+
+    record Rule(Access access, int minLevel) {
+
+        Rule(Access access) {
+            this(access, RoleAuthorization.NO_ROLE);
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new HashMap<>();
+        private Node wildcard;
+        private Rule exact;
+        private Rule remainder;
+    }
+
+    /**
+     * Collects route rules and compiles them into a {@link RouteAuthorizationTable}. Unsupported or
+     * conflicting patterns fail at startup.
+     */
+    public static final class Builder {
+
+        private final Node root = new Node();
+
+        private Builder() {
+        }
+
+        public Builder permitAll(String... patterns) {
+            return add(new Rule(Access.PERMIT_ALL), patterns);
+        }
+
+        public Builder authenticated(String... patterns) {
+            return add(new Rule(Access.AUTHENTICATED), patterns);
+        }
+
+        /**
+         * Requires {@code minimum} or any role above it in the {@link RoleAuthorization} hierarchy.
+         */
+        public Builder atLeast(Role minimum, String... patterns) {
+            return add(new Rule(Access.MIN_ROLE, minimum.ordinal()), patterns);
+        }
+
+        public RouteAuthorizationTable build() {
+            // Like anyRequest().authenticated()
+            return new RouteAuthorizationTable(root, new Rule(Access.AUTHENTICATED));
+        }
+
+        private Builder add(Rule rule, String... patterns) {
+            for (String pattern : patterns) {
+                insert(rule, pattern);
+            }
+            return this;
+        }
+
+        private void insert(Rule rule, String pattern) {
+            if (!pattern.startsWith("/")) {
+                throw new IllegalArgumentException("Route pattern must start with '/': " + pattern);
+            }
+            String[] segments = pattern.substring(1).split("/");
+            Node node = root;
+            for (int i = 0; i < segments.length; i++) {
+                String segment = segments[i];
+                if (segment.isEmpty() && i == segments.length - 1) {
+                    break;  // trailing slash
+                }
+                if (segment.equals("**")) {
+                    if (i != segments.length - 1) {
+                        throw new IllegalArgumentException("'**' is only supported as the last segment: " + pattern);
+                    }
+                    node.remainder = merge(node.remainder, rule, pattern);
+                    return;
+                }
+                if (segment.equals("*")) {
+                    node = node.wildcard != null ? node.wildcard : (node.wildcard = new Node());
+                } else if (segment.isEmpty() || segment.contains("*") || segment.contains("{")) {
+                    throw new IllegalArgumentException("Unsupported route pattern segment '" + segment + "': " + pattern);
+                } else {
+                    node = node.children.computeIfAbsent(segment, key -> new Node());
+                }
+            }
+            node.exact = merge(node.exact, rule, pattern);
+        }
+
+        private static Rule merge(Rule existing, Rule rule, String pattern) {
+            if (existing != null && !existing.equals(rule)) {
+                throw new IllegalArgumentException("Conflicting rules for route pattern: " + pattern);
+            }
+            return rule;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package com.suraj.authservice.security;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets keyed by an arbitrary string, such as a username or a client IP.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which it will be full again (the GCRA
+ * formulation of a token bucket), so taking a token is one compare-and-set with no lock and no allocation
+ * once the key is known. A bucket that has fully refilled carries no information and can be dropped; those
+ * are swept by {@link #evictIdle()}, and again when a new key finds the map at {@code maxKeys}.
+ * <p>
+ * Buckets that still hold state are never dropped, or a flood of fresh keys could reset the bucket of the
+ * account under attack. While the map is full of them, new keys share a single overflow bucket instead, so
+ * the limiter fails closed for keys it cannot track.
+ */
+public class TokenBucketLimiter {
+
+    private static final long MAX_SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final long refillIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+    private final LongSupplier nanoClock;
+
+    // Sweeps triggered by new keys are O(keys), so a flood of them runs at most one per interval
+    private final long sweepIntervalNanos;
+    private final AtomicLong nextSweepAt;
+
+    /**
+     * @param capacity     the number of requests allowed in a burst, and per refill period
+     * @param refillPeriod the time an empty bucket takes to fill up again
+     * @param maxKeys      the maximum number of buckets kept in memory
+     */
+    public TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys) {
+        this(capacity, refillPeriod, maxKeys, System::nanoTime);
+    }
+
+    TokenBucketLimiter(int capacity, Duration refillPeriod, int maxKeys, LongSupplier nanoClock) {
+        if (capacity <= 0 || refillPeriod.isNegative() || refillPeriod.isZero()) {
+            throw new IllegalArgumentException("capacity and refillPeriod must be positive");
+        }
+        if (maxKeys <= 0) {
+            throw new IllegalArgumentException("maxKeys must be positive");
+        }
+        this.refillIntervalNanos = refillPeriod.toNanos() / capacity;
+        this.burstNanos = refillIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.nanoClock = nanoClock;
+        this.sweepIntervalNanos = Math.min(refillIntervalNanos, MAX_SWEEP_INTERVAL_NANOS);
+        long now = nanoClock.getAsLong();
+        this.overflow = new AtomicLong(now);
+        this.nextSweepAt = new AtomicLong(now);
+    }
+
+    /**
+     * Takes a token from the key's bucket.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds until the next token is available
+     */
+    public long tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = bucketForNewKey(key, now);
+        }
+
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + refillIntervalNanos;
+            long waitNanos = next - now - burstNanos;
+            if (waitNanos > 0) {
+                return waitNanos;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops all buckets that have refilled completely.
+     */
+    public void evictIdle() {
+        long now = nanoClock.getAsLong();
+        // A request racing with the removal may still take its token from the dropped bucket;
+        // that lets one request through against a full bucket, which it would have been allowed anyway
+        buckets.entrySet().removeIf(entry -> entry.getValue().get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong bucketForNewKey(String key, long now) {
+        if (buckets.size() >= maxKeys) {
+            long sweepAt = nextSweepAt.get();
+            if (now - sweepAt >= 0 && nextSweepAt.compareAndSet(sweepAt, now + sweepIntervalNanos)) {
+                evictIdle();
+            }
+            if (buckets.size() >= maxKeys) {
+                return overflow;
+            }
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,205 @@
+package com.suraj.authservice.security;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Store of revoked token ids ({@code jti}), used for logout.
+ * <p>
+ * Each revoked id is kept until the token's own {@code exp} passes, after which it can no longer
+ * authenticate anyway. A {@link RevocationBloomFilter} sits in front of the set so the common case,
+ * a token that was never revoked, is answered without locking or allocating. Revocations are appended
+ * to a local file and replayed on startup, so they survive a restart.
+ * <p>
+ * Writes and filter rebuilds share one lock; reads never take it.
+ */
+@Slf4j
+@Component
+public class TokenRevocationStore {
+
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final ReentrantLock writeLock = new ReentrantLock();
+
+    private final Path file;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile RevocationBloomFilter bloomFilter;
+    private FileChannel channel;
+
+    public TokenRevocationStore(@Value("${auth.jwt.revocation.file:./data/revoked-tokens.log}") String file,
+                                @Value("${auth.jwt.revocation.expected-revocations:100000}") long expectedRevocations,
+                                @Value("${auth.jwt.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.file = Path.of(file);
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.bloomFilter = new RevocationBloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void load() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        if (Files.exists(file)) {
+            long now = Instant.now().getEpochSecond();
+            int malformed = 0;
+            // Decoded leniently, a corrupt tail must not fail the whole file
+            String content = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+            for (String line : content.lines().toList()) {
+                int separator = line.indexOf(' ');
+                if (separator <= 0 || separator == line.length() - 1) {
+                    malformed += line.isEmpty() ? 0 : 1;
+                    continue;
+                }
+                long expiresAt;
+                try {
+                    expiresAt = Long.parseLong(line, 0, separator, 10);
+                } catch (NumberFormatException e) {
+                    malformed++;
+                    continue;
+                }
+                if (expiresAt > now) {
+                    revokedTokens.put(line.substring(separator + 1), expiresAt);
+                }
+            }
+            if (malformed > 0) {
+                // Typically the last line, torn by a crash during an append
+                log.warn("Skipped {} malformed lines in {}", malformed, file);
+            }
+        }
+
+        // Drop expired and malformed lines left over from the previous run
+        writeLock.lock();
+        try {
+            rewrite();
+        } finally {
+            writeLock.unlock();
+        }
+        log.info("Loaded {} revoked tokens from {}", revokedTokens.size(), file);
+    }
+
+    /**
+     * Returns whether the token id has been revoked.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !bloomFilter.mightContain(tokenId)) {
+            return false;
+        }
+        Long expiresAt = revokedTokens.get(tokenId);
+        return expiresAt != null && expiresAt > Instant.now().getEpochSecond();
+    }
+
+    /**
+     * Revokes a token until its expiration time.
+     *
+     * @param tokenId   the {@code jti} claim of the token
+     * @param expiresAt the {@code exp} claim of the token
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        long expiresAtSeconds = expiresAt.getEpochSecond();
+        if (expiresAtSeconds <= Instant.now().getEpochSecond()) {
+            return;
+        }
+
+        writeLock.lock();
+        try {
+            if (revokedTokens.putIfAbsent(tokenId, expiresAtSeconds) != null) {
+                return;
+            }
+            bloomFilter.put(tokenId);
+            byte[] line = (expiresAtSeconds + " " + tokenId + "\n").getBytes(StandardCharsets.UTF_8);
+            channel.write(ByteBuffer.wrap(line));
+        } catch (IOException e) {
+            // The revocation is still enforced in memory, it just won't survive a restart
+            log.error("Failed to persist revocation of token {}", tokenId, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes expired revocations, then rebuilds the Bloom filter and compacts the file from what is left.
+     */
+    @Scheduled(fixedDelayString = "${auth.jwt.revocation.purge-interval-ms:300000}")
+    public void purgeExpired() {
+        long now = Instant.now().getEpochSecond();
+        writeLock.lock();
+        try {
+            if (!revokedTokens.values().removeIf(expiresAt -> expiresAt <= now)) {
+                return;
+            }
+            rewrite();
+        } catch (UncheckedIOException e) {
+            log.error("Failed to compact revoked token file {}", file, e);
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        writeLock.lock();
+        try {
+            if (channel != null) {
+                channel.close();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Must hold writeLock
+    private void rewrite() {
+        List<Map.Entry<String, Long>> live = List.copyOf(revokedTokens.entrySet());
+
+        RevocationBloomFilter rebuilt = new RevocationBloomFilter(
+                Math.max(expectedRevocations, 2L * live.size()), falsePositiveRate);
+        live.forEach(entry -> rebuilt.put(entry.getKey()));
+        bloomFilter = rebuilt;
+
+        // The old channel stays open until its replacement is, so a failed compaction leaves appends working
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (BufferedWriter writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                for (Map.Entry<String, Long> entry : live) {
+                    writer.write(entry.getValue() + " " + entry.getKey() + "\n");
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            FileChannel previous = channel;
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            if (previous != null) {
+                previous.close();
+            }
+        } catch (IOException e) {
+            try {
+                Files.deleteIfExists(temp);
+            } catch (IOException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.suraj.authservice.security;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.suraj.authservice.cache.ExpiringCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Cache of tokens that have already passed signature, issuer and expiration checks.
+ * Clients send the same bearer token for a whole session, so a hit lets
+ * {@link JwtAuthenticationFilter} skip HMAC verification, JSON decoding and authority parsing.
+ * <p>
+ * Entries are keyed by a SHA-256 digest of the token rather than the token itself and expire
+ * exactly at the token's {@code exp} claim.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    // Rough retained size of an entry without its strings: map node, key, entry and record headers
+    private static final long ENTRY_OVERHEAD_BYTES = 160;
+
+    // Cloned per lookup instead of held in a ThreadLocal: on virtual threads every request runs on a
+    // fresh thread, so a ThreadLocal would look up and initialise a new digest each time anyway
+    private static final MessageDigest SHA_256;
+
+    static {
+        try {
+            SHA_256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private final boolean enabled;
+    private final ExpiringCache<TokenDigest, VerifiedToken> cache;
+
+    public VerifiedTokenCache(@Value("${auth.jwt.token-cache.enabled:true}") boolean enabled,
+                              @Value("${auth.jwt.token-cache.max-entries:100000}") int maxEntries,
+                              @Value("${auth.jwt.token-cache.max-memory-bytes:67108864}") long maxMemoryBytes) {
+        this.enabled = enabled;
+        this.cache = new ExpiringCache<>(maxEntries, maxMemoryBytes, VerifiedTokenCache::estimateSize);
+    }
+
+    /**
+     * Returns the previously verified token, or null if the token has not been seen or has expired.
+     */
+    public VerifiedToken get(String token) {
+        return enabled ? cache.get(digest(token)) : null;
+    }
+
+    /**
+     * Records a token that has just been verified.
+     *
+     * @return the resolved token, whether or not it was cached
+     */
+    public VerifiedToken put(String token, DecodedJWT decodedJWT, List<GrantedAuthority> authorities) {
+        Date expiresAt = decodedJWT.getExpiresAt();
+        VerifiedToken verified = new VerifiedToken(
+                decodedJWT.getSubject(),
+                decodedJWT.getId(),
+                authorities,
+                expiresAt != null ? expiresAt.getTime() : 0L
+        );
+        // Tokens without an exp claim are never cached, there would be nothing to bound their lifetime
+        if (enabled && expiresAt != null) {
+            cache.put(digest(token), verified, verified.expiresAtMillis());
+        }
+        return verified;
+    }
+
+    public ExpiringCache.CacheStats stats() {
+        return cache.stats();
+    }
+
+    private static TokenDigest digest(String token) {
+        MessageDigest sha256;
+        try {
+            sha256 = (MessageDigest) SHA_256.clone();
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException("SHA-256 digest cannot be cloned", e);
+        }
+        ByteBuffer hash = ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new TokenDigest(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    private static long estimateSize(VerifiedToken token) {
+        long chars = (token.username() != null ? token.username().length() : 0)
+                + (token.tokenId() != null ? token.tokenId().length() : 0);
+        return ENTRY_OVERHEAD_BYTES + 2 * chars + 16L * token.authorities().size();
+    }
+
+    /**
+     * SHA-256 digest of a token, held as four longs so the key never retains the token string.
+     */
+    private record TokenDigest(long h0, long h1, long h2, long h3) {
+    }
+
+    /**
+     * The parts of a verified token the filter needs to build an {@code Authentication}.
+     *
+     * @param tokenId         the {@code jti} claim
+     * @param expiresAtMillis the {@code exp} claim in epoch milliseconds
+     */
+    public record VerifiedToken(String username, String tokenId, List<GrantedAuthority> authorities,
+                                long expiresAtMillis) {
+    }
+}
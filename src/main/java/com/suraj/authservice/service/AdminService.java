@@ -1,6 +1,11 @@
 package com.suraj.authservice.service;
 
+import com.suraj.authservice.dto.BulkRoleChangeRequest;
+import com.suraj.authservice.dto.BulkRoleChangeResult;
+import com.suraj.authservice.dto.KeyRotationRequest;
 import com.suraj.authservice.dto.RoleChangeRequest;
+import com.suraj.authservice.dto.UserPage;
+import com.suraj.authservice.dto.UserSummary;
 import com.suraj.authservice.entity.Role;
 
 /**
@@ -21,4 +26,47 @@ public interface AdminService {
      * @throws com.suraj.authservice.exception.InvalidRoleException if the role change is invalid
      */
     String changeUserRole(RoleChangeRequest reason);
+
+    /**
+     * Changes the role of many users in one transaction, selected either by username or by current role.
+     * Users are locked and read with one query and updated with set-based statements, not one by one;
+     * each changed user gets its own audit record.
+     *
+     * @param request The usernames or current role, the new role and an optional reason
+     * @return The outcome for every selected user
+     * @throws com.suraj.authservice.exception.InvalidRoleException if the selection is missing, ambiguous
+     *                                                              or larger than allowed
+     */
+    BulkRoleChangeResult changeUserRoles(BulkRoleChangeRequest request);
+
+    /**
+     * Adds a new JWT signing key to the key ring, optionally making it the active signing key.
+     * Tokens signed with the previous key stay valid until they expire.
+     *
+     * @param request The key id, optional secret and activation flag
+     * @return A message indicating the result of the operation
+     * @throws com.suraj.authservice.exception.KeyRotationException if the key cannot be added
+     */
+    String rotateSigningKey(KeyRotationRequest request);
+
+    /**
+     * Lists users newest first, one page at a time, without reading password hashes.
+     *
+     * @param role   Only users with this role, or null for any
+     * @param search Only usernames starting with this prefix, or null
+     * @param before The {@code nextCursor} of the previous page, or null for the first page
+     * @param limit  Page size, capped at {@code auth.admin.user-list.max-page-size}
+     * @return The users on the page and the cursor of the next page
+     * @throws com.suraj.authservice.exception.InvalidCursorException if the cursor is malformed
+     */
+    UserPage listUsers(Role role, String search, String before, int limit);
+
+    /**
+     * Returns a single user, without the password hash.
+     *
+     * @param username The username of the user
+     * @return The user
+     * @throws com.suraj.authservice.exception.ResourceNotFoundException if the user is not found
+     */
+    UserSummary getUser(String username);
 }
@@ -0,0 +1,24 @@
+package com.suraj.authservice.service;
+
+import com.suraj.authservice.dto.AuditEventPage;
+
+import java.time.Instant;
+
+/**
+ * Service interface for reading the audit trail of administrative operations.
+ */
+public interface AuditService {
+
+    /**
+     * Finds audit events matching all given filters, newest first, using keyset pagination.
+     *
+     * @param actor  Only events performed by this administrator, or null for any
+     * @param target Only events applied to this username or key id, or null for any
+     * @param from   Only events at or after this instant, or null
+     * @param to     Only events before this instant, or null
+     * @param before The {@code nextCursor} of the previous page, or null for the first page
+     * @param limit  Page size, capped at {@code auth.audit.max-page-size}
+     * @return The matching events and the cursor of the next page
+     */
+    AuditEventPage findAuditEvents(String actor, String target, Instant from, Instant to, Long before, int limit);
+}
@@ -1,7 +1,9 @@
 package com.suraj.authservice.service;
 
 import com.suraj.authservice.dto.LoginRequest;
+import com.suraj.authservice.dto.RefreshTokenRequest;
 import com.suraj.authservice.dto.RegisterRequest;
+import com.suraj.authservice.dto.TokenResponse;
 
 import java.util.Map;
 
@@ -17,8 +19,28 @@ public interface AuthService {
     /**
      * Authenticates a user and generates a JWT token
      * 
-     * @param request The login credentials
-     * @return Authentication data including JWT token and user details
+     * @param request  The login credentials
+     * @param clientIp The remote address of the request, recorded with the login event
+     * @return Access token and the refresh token that starts a new token family
      */
-    String login(LoginRequest request);
+    TokenResponse login(LoginRequest request, String clientIp);
+
+    /**
+     * Exchanges a refresh token for a new access token and the next refresh token, without checking the password
+     *
+     * @param request The refresh token issued by login or the previous refresh
+     * @return Access token and the replacement refresh token
+     */
+    TokenResponse refresh(RefreshTokenRequest request);
+
+    /**
+     * Logs a user out by revoking their refresh token family and, if it is still valid, their access token
+     * until it expires. An expired access token does not stop the refresh token from being revoked.
+     *
+     * @param token        The bearer token to revoke, or null
+     * @param refreshToken The refresh token whose family is revoked, or null
+     * @param clientIp     The remote address of the request, recorded with the logout event
+     * @return Logout confirmation message
+     */
+    String logout(String token, String refreshToken, String clientIp);
 }
\ No newline at end of file
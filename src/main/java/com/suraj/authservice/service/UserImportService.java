@@ -0,0 +1,35 @@
+package com.suraj.authservice.service;
+
+import com.suraj.authservice.dto.UserImportEvent;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Service interface for bulk user imports from other systems.
+ */
+public interface UserImportService {
+
+    /**
+     * Supported input formats.
+     */
+    enum Format {
+        /** One JSON object per line. */
+        NDJSON,
+        /** Comma-separated values with a header row naming the columns. */
+        CSV
+    }
+
+    /**
+     * Streams users from the input into the users table in batches.
+     * Rows are read, validated, hashed and inserted one batch at a time, so the input is never held in memory.
+     *
+     * @param input    The request body
+     * @param format   The format of the input
+     * @param listener Receives per-row failures, progress after each batch and a final summary
+     * @return The final summary event
+     * @throws IOException if the input cannot be read
+     */
+    UserImportEvent importUsers(InputStream input, Format format, Consumer<UserImportEvent> listener) throws IOException;
+}
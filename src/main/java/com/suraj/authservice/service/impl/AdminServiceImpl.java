@@ -1,19 +1,45 @@
 package com.suraj.authservice.service.impl;
 
+import com.suraj.authservice.audit.AuditEventWriter;
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
+import com.suraj.authservice.dto.BulkRoleChangeRequest;
+import com.suraj.authservice.dto.BulkRoleChangeResult;
+import com.suraj.authservice.dto.KeyRotationRequest;
 import com.suraj.authservice.dto.RoleChangeRequest;
+import com.suraj.authservice.dto.UserPage;
+import com.suraj.authservice.dto.UserSummary;
+import com.suraj.authservice.entity.AuditAction;
+import com.suraj.authservice.entity.AuditEvent;
 import com.suraj.authservice.entity.Role;
 import com.suraj.authservice.entity.User;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
+import com.suraj.authservice.exception.InvalidCursorException;
 import com.suraj.authservice.exception.InvalidRoleException;
 import com.suraj.authservice.exception.ResourceNotFoundException;
 import com.suraj.authservice.repository.UserRepository;
+import com.suraj.authservice.repository.UserRepositoryCustom.RoleAssignment;
+import com.suraj.authservice.security.CachedUserDetailsService;
+import com.suraj.authservice.security.JwtKeyRing;
 import com.suraj.authservice.service.AdminService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Implementation of the AdminService interface.
@@ -24,7 +50,21 @@ import java.time.LocalDateTime;
 @Slf4j
 public class AdminServiceImpl implements AdminService {
 
+    // Usernames per IN list of a bulk role change
+    private static final int BULK_CHUNK_SIZE = 1000;
+
     private final UserRepository userRepository;
+    private final JwtKeyRing jwtKeyRing;
+    private final CachedUserDetailsService cachedUserDetailsService;
+    private final AuthEventLog authEventLog;
+    private final AuditEventWriter auditEventWriter;
+    private final ReadYourWritesWindow readYourWritesWindow;
+
+    @Value("${auth.admin.user-list.max-page-size:200}")
+    private int maxUserPageSize;
+
+    @Value("${auth.admin.bulk-role-change.max-users:10000}")
+    private int maxBulkRoleChangeUsers;
 
     /**
      * {@inheritDoc}
@@ -61,15 +101,184 @@ public class AdminServiceImpl implements AdminService {
         user.setRole(newRole);
         userRepository.save(user);
 
-        // Log the role change with detailed information for audit purposes
-        String logMessage = String.format(
-                "Role change: User '%s' role changed from %s to %s by admin '%s' at %s. Reason: %s",
-                username, oldRole, newRole, adminUsername, LocalDateTime.now(),
-                reason != null ? reason : "No reason provided"
-        );
+        // Make the new role effective on the user's next request, read from the primary
+        cachedUserDetailsService.evict(username);
+        readYourWritesWindow.recordWrite(username);
+        readYourWritesWindow.recordWrite(adminUsername);
+
+        // Persist the role change to the audit trail once the transaction commits
+        auditEventWriter.record(AuditEvent.of(AuditAction.ROLE_CHANGE, adminUsername, username,
+                oldRole.name(), newRole.name(), reason));
 
-        log.info(logMessage);
+        authEventLog.publish(AuthEventType.ROLE_CHANGED, username, null,
+                "oldRole", oldRole.name(),
+                "newRole", newRole.name(),
+                "changedBy", adminUsername,
+                "reason", reason != null ? reason : "No reason provided");
 
         return String.format("User '%s' role successfully changed from %s to %s", username, oldRole, newRole);
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional
+    public BulkRoleChangeResult changeUserRoles(BulkRoleChangeRequest request) {
+        String adminUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        Role newRole = request.newRole();
+        String reason = request.reason();
+
+        boolean byUsername = request.usernames() != null && !request.usernames().isEmpty();
+        if (byUsername == (request.currentRole() != null)) {
+            throw new InvalidRoleException("Specify either usernames or currentRole, but not both");
+        }
+
+        // Requested usernames, deduplicated the way the case-insensitive username column compares them
+        Map<String, String> requested = new LinkedHashMap<>();
+        List<RoleAssignment> found = new ArrayList<>();
+        if (byUsername) {
+            request.usernames().forEach(username -> requested.putIfAbsent(normalize(username), username));
+            for (List<String> chunk : chunks(List.copyOf(requested.values()))) {
+                found.addAll(userRepository.lockRoles(chunk));
+            }
+        } else {
+            found.addAll(userRepository.lockRolesByRole(request.currentRole(), maxBulkRoleChangeUsers + 1));
+            if (found.size() > maxBulkRoleChangeUsers) {
+                throw new InvalidRoleException(String.format(
+                        "More than %d users have the role %s; change them by username in several requests",
+                        maxBulkRoleChangeUsers, request.currentRole()));
+            }
+            found.forEach(assignment -> requested.put(normalize(assignment.username()), assignment.username()));
+        }
+
+        Map<String, RoleAssignment> current = new HashMap<>();
+        found.forEach(assignment -> current.put(normalize(assignment.username()), assignment));
+
+        List<BulkRoleChangeResult.Outcome> outcomes = new ArrayList<>(requested.size());
+        List<String> toChange = new ArrayList<>();
+        List<AuditEvent> auditEvents = new ArrayList<>();
+        for (Map.Entry<String, String> entry : requested.entrySet()) {
+            RoleAssignment assignment = current.get(entry.getKey());
+            if (assignment == null) {
+                outcomes.add(new BulkRoleChangeResult.Outcome(entry.getValue(),
+                        BulkRoleChangeResult.Status.NOT_FOUND, null, null, "User not found"));
+            } else if (assignment.username().equalsIgnoreCase(adminUsername)) {
+                // Same protection as the single-user change
+                outcomes.add(new BulkRoleChangeResult.Outcome(assignment.username(),
+                        BulkRoleChangeResult.Status.REJECTED, assignment.role(), null,
+                        "Administrators cannot change their own role"));
+            } else if (assignment.role() == newRole) {
+                outcomes.add(new BulkRoleChangeResult.Outcome(assignment.username(),
+                        BulkRoleChangeResult.Status.UNCHANGED, assignment.role(), newRole, null));
+            } else {
+                outcomes.add(new BulkRoleChangeResult.Outcome(assignment.username(),
+                        BulkRoleChangeResult.Status.CHANGED, assignment.role(), newRole, null));
+                toChange.add(assignment.username());
+                auditEvents.add(AuditEvent.of(AuditAction.ROLE_CHANGE, adminUsername, assignment.username(),
+                        assignment.role().name(), newRole.name(), reason));
+            }
+        }
+
+        // The rows are locked, so one UPDATE per chunk changes exactly the users read above
+        Instant now = Instant.now();
+        for (List<String> chunk : chunks(toChange)) {
+            userRepository.updateRoles(chunk, newRole, now);
+        }
+        toChange.forEach(cachedUserDetailsService::evict);
+        toChange.forEach(readYourWritesWindow::recordWrite);
+        readYourWritesWindow.recordWrite(adminUsername);
+
+        auditEventWriter.recordAll(auditEvents);
+        for (AuditEvent event : auditEvents) {
+            authEventLog.publish(AuthEventType.ROLE_CHANGED, event.getTarget(), null,
+                    "oldRole", event.getOldValue(),
+                    "newRole", event.getNewValue(),
+                    "changedBy", adminUsername,
+                    "reason", reason != null ? reason : "No reason provided");
+        }
+
+        BulkRoleChangeResult result = BulkRoleChangeResult.of(outcomes);
+        log.info("Bulk role change to {} by admin '{}': {} changed, {} unchanged, {} not found, {} rejected",
+                newRole, adminUsername, result.changed(), result.unchanged(), result.notFound(), result.rejected());
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String rotateSigningKey(KeyRotationRequest request) {
+        String adminUsername = SecurityContextHolder.getContext().getAuthentication().getName();
+        boolean activate = request.activate() == null || request.activate();
+
+        JwtKeyRing.SigningKey key = jwtKeyRing.rotate(request.keyId(), request.secret(), activate);
+
+        auditEventWriter.record(AuditEvent.of(AuditAction.SIGNING_KEY_ROTATION, adminUsername, key.keyId(),
+                null, activate ? "activated" : "staged", null));
+
+        log.info("Signing key rotation: key '{}' {} by admin '{}' at {}",
+                key.keyId(), activate ? "activated" : "staged", adminUsername, LocalDateTime.now());
+
+        return activate
+                ? String.format("Signing key '%s' is now active", key.keyId())
+                : String.format("Signing key '%s' staged for verification", key.keyId());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserPage listUsers(Role role, String search, String before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxUserPageSize));
+        String prefix = search != null && !search.isBlank() ? search.trim() : null;
+
+        Instant beforeCreatedAt = null;
+        UUID beforeId = null;
+        if (before != null) {
+            // Cursor: base64url of "<created_at instant>|<id>" of the last user on the previous page
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(before), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                beforeCreatedAt = Instant.parse(decoded.substring(0, separator));
+                beforeId = UUID.fromString(decoded.substring(separator + 1));
+            } catch (RuntimeException e) {
+                throw new InvalidCursorException("Malformed page cursor", e);
+            }
+        }
+
+        // One extra row tells whether there is a next page
+        List<UserSummary> users = userRepository.findSummaries(role, prefix, beforeCreatedAt, beforeId, pageSize + 1);
+        if (users.size() <= pageSize) {
+            return new UserPage(users, null);
+        }
+        UserSummary last = users.get(pageSize - 1);
+        String nextCursor = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((last.createdAt() + "|" + last.id()).getBytes(StandardCharsets.UTF_8));
+        return new UserPage(List.copyOf(users.subList(0, pageSize)), nextCursor);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public UserSummary getUser(String username) {
+        return userRepository.findSummaryByUsername(username)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "username", username));
+    }
+
+    private static List<List<String>> chunks(List<String> values) {
+        List<List<String>> chunks = new ArrayList<>();
+        for (int i = 0; i < values.size(); i += BULK_CHUNK_SIZE) {
+            chunks.add(values.subList(i, Math.min(i + BULK_CHUNK_SIZE, values.size())));
+        }
+        return chunks;
+    }
+
+    // Matches the case-insensitive collation of the users table
+    private static String normalize(String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,100 @@
+package com.suraj.authservice.service.impl;
+
+import com.suraj.authservice.dto.AuditEventPage;
+import com.suraj.authservice.entity.AuditAction;
+import com.suraj.authservice.entity.AuditEvent;
+import com.suraj.authservice.service.AuditService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementation of the AuditService interface.
+ * <p>
+ * Pages are cut by id rather than by offset, so each page is one index range scan on
+ * {@code (actor, id)}, {@code (target, id)} or the primary key, however deep the client pages.
+ * A query filtered by time alone is ordered by {@code occurred_at, id} instead, so it scans
+ * {@code (occurred_at, id)} from the end of the range; its cursor id is resolved to that pair first.
+ */
+@Service
+public class AuditServiceImpl implements AuditService {
+
+    private static final RowMapper<AuditEvent> ROW_MAPPER = (resultSet, rowNum) -> new AuditEvent(
+            resultSet.getLong("id"),
+            resultSet.getTimestamp("occurred_at").toInstant(),
+            AuditAction.valueOf(resultSet.getString("action")),
+            resultSet.getString("actor"),
+            resultSet.getString("target"),
+            resultSet.getString("old_value"),
+            resultSet.getString("new_value"),
+            resultSet.getString("reason"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final int maxPageSize;
+
+    public AuditServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                            @Value("${auth.audit.max-page-size:500}") int maxPageSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxPageSize = maxPageSize;
+    }
+
+    @Override
+    public AuditEventPage findAuditEvents(String actor, String target, Instant from, Instant to,
+                                          Long before, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, maxPageSize));
+
+        StringBuilder sql = new StringBuilder(
+                "SELECT id, occurred_at, action, actor, target, old_value, new_value, reason FROM audit_events WHERE 1 = 1");
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (actor != null) {
+            sql.append(" AND actor = :actor");
+            params.addValue("actor", actor);
+        }
+        if (target != null) {
+            sql.append(" AND target = :target");
+            params.addValue("target", target);
+        }
+        if (from != null) {
+            sql.append(" AND occurred_at >= :from");
+            params.addValue("from", Timestamp.from(from));
+        }
+        if (to != null) {
+            sql.append(" AND occurred_at < :to");
+            params.addValue("to", Timestamp.from(to));
+        }
+        boolean byTime = actor == null && target == null && (from != null || to != null);
+        if (before != null && byTime) {
+            List<Timestamp> beforeAt = jdbcTemplate.queryForList(
+                    "SELECT occurred_at FROM audit_events WHERE id = :before", Map.of("before", before),
+                    Timestamp.class);
+            if (beforeAt.isEmpty()) {
+                return new AuditEventPage(List.of(), null);
+            }
+            // Expanded rather than a row comparison, which MySQL does not turn into an index range
+            sql.append(" AND (occurred_at < :beforeAt OR (occurred_at = :beforeAt AND id < :before))");
+            params.addValue("beforeAt", beforeAt.get(0));
+            params.addValue("before", before);
+        } else if (before != null) {
+            sql.append(" AND id < :before");
+            params.addValue("before", before);
+        }
+        // One extra row tells whether there is a next page
+        sql.append(byTime ? " ORDER BY occurred_at DESC, id DESC" : " ORDER BY id DESC");
+        sql.append(" LIMIT :limit");
+        params.addValue("limit", pageSize + 1);
+
+        List<AuditEvent> events = jdbcTemplate.query(sql.toString(), params, ROW_MAPPER);
+        if (events.size() <= pageSize) {
+            return new AuditEventPage(events, null);
+        }
+        List<AuditEvent> page = events.subList(0, pageSize);
+        return new AuditEventPage(List.copyOf(page), page.get(pageSize - 1).getId());
+    }
+}
@@ -1,17 +1,29 @@
 package com.suraj.authservice.service.impl;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
 import com.suraj.authservice.dto.LoginRequest;
+import com.suraj.authservice.dto.RefreshTokenRequest;
 import com.suraj.authservice.dto.RegisterRequest;
+import com.suraj.authservice.dto.TokenResponse;
 import com.suraj.authservice.entity.Role;
 import com.suraj.authservice.entity.User;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
 import com.suraj.authservice.exception.AuthenticationFailedException;
+import com.suraj.authservice.exception.PasswordHashingOverloadedException;
 import com.suraj.authservice.exception.UserAlreadyExistsException;
 import com.suraj.authservice.repository.UserRepository;
 import com.suraj.authservice.security.CustomUserDetails;
 import com.suraj.authservice.security.JWTService;
+import com.suraj.authservice.security.RefreshTokenService;
+import com.suraj.authservice.security.TokenRevocationStore;
 import com.suraj.authservice.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -29,22 +41,13 @@ public class AuthServiceImpl implements AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JWTService jwtService;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final RefreshTokenService refreshTokenService;
+    private final AuthEventLog authEventLog;
+    private final ReadYourWritesWindow readYourWritesWindow;
 
     @Override
     public String register(RegisterRequest request) {
-        // Check if a username or email already exists
-        if (userRepository.existsByUsername(request.username())) {
-            throw new UserAlreadyExistsException("Username already exists");
-        }
-
-        if (userRepository.existsByEmail(request.email())) {
-            throw new UserAlreadyExistsException("Email already exists");
-        }
-
-        if (request.phoneNumber() != null && userRepository.existsByPhoneNumber(request.phoneNumber())) {
-            throw new UserAlreadyExistsException("Phone number already exists");
-        }
-
         // Create a new user
         User user = new User();
         user.setUsername(request.username());
@@ -53,13 +56,61 @@ public class AuthServiceImpl implements AuthService {
         user.setPassword(passwordEncoder.encode(request.password()));
         user.setRole(Role.ROLE_USER); // Default role
 
-        // Save the user
-        User savedUser = userRepository.save(user);
-        return "User registration successful for " + savedUser.getUsername();
+        // Save the user in a single insert; the unique constraints on users reject duplicates,
+        // which also closes the race between concurrent sign-ups for the same username or email
+        try {
+            User savedUser = userRepository.saveAndFlush(user);
+            // The first requests after sign-up must find the user even if the replicas lag
+            readYourWritesWindow.recordWrite(savedUser.getUsername());
+            return "User registration successful for " + savedUser.getUsername();
+        } catch (DataIntegrityViolationException e) {
+            throw toUserAlreadyExists(e, request);
+        }
+    }
+
+    private RuntimeException toUserAlreadyExists(DataIntegrityViolationException e, RegisterRequest request) {
+        String constraint = e.getCause() instanceof ConstraintViolationException violation
+                ? violation.getConstraintName()
+                : null;
+        constraint = constraint != null ? constraint.toLowerCase() : "";
+
+        if (constraint.contains(User.UK_USERNAME)) {
+            return usernameExists();
+        }
+        if (constraint.contains(User.UK_EMAIL)) {
+            return emailExists();
+        }
+        if (constraint.contains(User.UK_PHONE_NUMBER)) {
+            return phoneNumberExists();
+        }
+
+        // Constraints created before they were named carry generated names; only then look the field up
+        if (userRepository.existsByUsername(request.username())) {
+            return usernameExists();
+        }
+        if (userRepository.existsByEmail(request.email())) {
+            return emailExists();
+        }
+        if (request.phoneNumber() != null && userRepository.existsByPhoneNumber(request.phoneNumber())) {
+            return phoneNumberExists();
+        }
+        return e;
+    }
+
+    private static UserAlreadyExistsException usernameExists() {
+        return new UserAlreadyExistsException("username", "Username already exists");
+    }
+
+    private static UserAlreadyExistsException emailExists() {
+        return new UserAlreadyExistsException("email", "Email already exists");
+    }
+
+    private static UserAlreadyExistsException phoneNumberExists() {
+        return new UserAlreadyExistsException("phoneNumber", "Phone number already exists");
     }
 
     @Override
-    public String login(LoginRequest request) {
+    public TokenResponse login(LoginRequest request, String clientIp) {
         try {
             // Create an authentication token with the credentials from the request
             Authentication authentication = authenticationManager.authenticate(
@@ -81,20 +132,65 @@ public class AuthServiceImpl implements AuthService {
             CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
 
             String token = jwtService.generateJwtToken(userDetails);
+            String refreshToken = refreshTokenService.issue(userDetails.getUser());
 
-            // Log the successful login
-            log.info("User authenticated successfully: {}", request.username());
+            // Record the successful login
+            authEventLog.publish(AuthEventType.LOGIN_SUCCESS, request.username(), clientIp);
 
-            // Return the token
-            return token;
+            // Return the tokens
+            return new TokenResponse(token, refreshToken, jwtService.getExpirationSeconds());
         } catch (BadCredentialsException e) {
-            log.error("Invalid username or password for user: {}", request.username());
+            authEventLog.publish(AuthEventType.LOGIN_FAILURE, request.username(), clientIp,
+                    "reason", "bad_credentials");
             throw new AuthenticationFailedException("Invalid username or password");
+        } catch (PasswordHashingOverloadedException e) {
+            // Not an authentication failure, let the client retry with the same credentials
+            throw e;
         } catch (Exception e) {
             log.error("Authentication error: {}", e.getMessage());
+            authEventLog.publish(AuthEventType.LOGIN_FAILURE, request.username(), clientIp, "reason", "error");
             throw new AuthenticationFailedException("Authentication failed", e);
         }
     }
 
+    @Override
+    public TokenResponse refresh(RefreshTokenRequest request) {
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(request.refreshToken());
+
+        // The user was loaded with the token, so role changes since login are picked up here
+        String token = jwtService.generateJwtToken(new CustomUserDetails(rotated.user()));
 
-}
\ No newline at end of file
+        log.debug("Access token refreshed for user: {}", rotated.user().getUsername());
+        return new TokenResponse(token, rotated.refreshToken(), jwtService.getExpirationSeconds());
+    }
+
+    @Override
+    public String logout(String token, String refreshToken, String clientIp) {
+        if (token == null && refreshToken == null) {
+            throw new AuthenticationFailedException("Missing bearer token or refresh token");
+        }
+
+        // The refresh token outlives the access token by days, so it is revoked whatever state the access token is in
+        if (refreshToken != null) {
+            refreshTokenService.revoke(refreshToken);
+        }
+
+        String username = null;
+        if (token != null) {
+            try {
+                DecodedJWT decodedJWT = jwtService.validateToken(token);
+                // Revoked until exp; after that the token is rejected as expired anyway
+                tokenRevocationStore.revoke(decodedJWT.getId(), decodedJWT.getExpiresAtAsInstant());
+                username = decodedJWT.getSubject();
+            } catch (JWTVerificationException e) {
+                if (refreshToken == null) {
+                    throw new AuthenticationFailedException("Invalid or expired token", e);
+                }
+                log.debug("Access token not revoked on logout: {}", e.getMessage());
+            }
+        }
+
+        authEventLog.publish(AuthEventType.LOGOUT, username, clientIp);
+        return username != null ? "Logout successful for " + username : "Logout successful";
+    }
+}
@@ -0,0 +1,370 @@
+package com.suraj.authservice.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.authservice.dto.UserImportEvent;
+import com.suraj.authservice.dto.UserImportRow;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.security.CalibratedPasswordEncoder;
+import com.suraj.authservice.service.UserImportService;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Implementation of the UserImportService interface.
+ * <p>
+ * Each batch costs one query to find rows that clash with existing users, parallel password hashing on a
+ * dedicated pool, and one JDBC batch insert into the {@code users} table. If the batch insert still hits a
+ * unique constraint (a concurrent sign-up), that batch is retried row by row so only the clashing rows fail.
+ * The batch is a single round trip only with {@code rewriteBatchedStatements=true} on the MySQL connection.
+ */
+@Slf4j
+@Service
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (id, username, email, phone_number, password, role, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CalibratedPasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int batchSize;
+    private final ForkJoinPool hashingPool;
+
+    public UserImportServiceImpl(NamedParameterJdbcTemplate jdbcTemplate,
+                                 TransactionTemplate transactionTemplate,
+                                 CalibratedPasswordEncoder passwordEncoder,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Value("${auth.user-import.batch-size:500}") int batchSize,
+                                 @Value("${auth.user-import.hashing-threads:0}") int hashingThreads) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.batchSize = batchSize;
+        this.hashingPool = new ForkJoinPool(
+                hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    @Override
+    public UserImportEvent importUsers(InputStream input, Format format, Consumer<UserImportEvent> listener)
+            throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        ImportProgress progress = new ImportProgress(listener);
+        List<PendingRow> batch = new ArrayList<>(batchSize);
+
+        long lineNumber = 0;
+        List<String> csvColumns = null;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            if (header == null) {
+                return progress.summary();
+            }
+            csvColumns = parseCsvLine(header).stream().map(String::trim).toList();
+        }
+
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            UserImportRow row;
+            try {
+                row = format == Format.CSV ? toRow(csvColumns, parseCsvLine(line)) : objectMapper.readValue(line, UserImportRow.class);
+            } catch (JsonProcessingException e) {
+                progress.fail(lineNumber, null, "Malformed row: " + e.getOriginalMessage());
+                continue;
+            } catch (IllegalArgumentException e) {
+                progress.fail(lineNumber, null, "Malformed row: " + e.getMessage());
+                continue;
+            }
+
+            String error = validate(row);
+            if (error != null) {
+                progress.fail(lineNumber, row.username(), error);
+                continue;
+            }
+
+            batch.add(new PendingRow(lineNumber, row));
+            if (batch.size() == batchSize) {
+                importBatch(batch, progress);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            importBatch(batch, progress);
+        }
+
+        UserImportEvent summary = progress.summary();
+        log.info("User import finished: {} rows processed, {} imported, {} failed",
+                summary.processed(), summary.imported(), summary.failed());
+        return summary;
+    }
+
+    private void importBatch(List<PendingRow> rows, ImportProgress progress) {
+        List<PendingRow> accepted = rejectDuplicates(rows, progress);
+
+        // Hash across cores; rows that arrive pre-hashed are passed through as is
+        Instant now = Instant.now();
+        List<Object[]> inserts = hashingPool.submit(() -> accepted.parallelStream()
+                .map(pending -> toInsertArgs(pending.row(), now))
+                .toList()).join();
+
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_USER_SQL, inserts));
+            progress.imported(inserts.size());
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Batch insert hit a constraint, retrying {} rows individually", inserts.size());
+            for (int i = 0; i < inserts.size(); i++) {
+                Object[] args = inserts.get(i);
+                try {
+                    transactionTemplate.executeWithoutResult(status ->
+                            jdbcTemplate.getJdbcTemplate().update(INSERT_USER_SQL, args));
+                    progress.imported(1);
+                } catch (DataIntegrityViolationException rowError) {
+                    PendingRow pending = accepted.get(i);
+                    progress.fail(pending.line(), pending.row().username(), rowError(rowError));
+                }
+            }
+        }
+        progress.batchDone();
+    }
+
+    /**
+     * Fails rows that clash with each other within the batch or with users already in the table,
+     * using one query for the whole batch.
+     */
+    private List<PendingRow> rejectDuplicates(List<PendingRow> rows, ImportProgress progress) {
+        Set<String> usernames = new HashSet<>();
+        Set<String> emails = new HashSet<>();
+        Set<String> phoneNumbers = new HashSet<>();
+        List<PendingRow> unique = new ArrayList<>(rows.size());
+        for (PendingRow pending : rows) {
+            UserImportRow row = pending.row();
+            String duplicate = !usernames.add(normalize(row.username())) ? "Duplicate username in import"
+                    : !emails.add(normalize(row.email())) ? "Duplicate email in import"
+                    : row.phoneNumber() != null && !phoneNumbers.add(row.phoneNumber()) ? "Duplicate phone number in import"
+                    : null;
+            if (duplicate != null) {
+                progress.fail(pending.line(), row.username(), duplicate);
+            } else {
+                unique.add(pending);
+            }
+        }
+
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("usernames", usernames)
+                .addValue("emails", emails);
+        String sql = "SELECT username, email, phone_number FROM users WHERE username IN (:usernames) OR email IN (:emails)";
+        if (!phoneNumbers.isEmpty()) {
+            sql += " OR phone_number IN (:phoneNumbers)";
+            params.addValue("phoneNumbers", phoneNumbers);
+        }
+
+        Set<String> existingUsernames = new HashSet<>();
+        Set<String> existingEmails = new HashSet<>();
+        Set<String> existingPhoneNumbers = new HashSet<>();
+        jdbcTemplate.query(sql, params, resultSet -> {
+            existingUsernames.add(normalize(resultSet.getString(1)));
+            existingEmails.add(normalize(resultSet.getString(2)));
+            existingPhoneNumbers.add(resultSet.getString(3));
+        });
+
+        List<PendingRow> accepted = new ArrayList<>(unique.size());
+        for (PendingRow pending : unique) {
+            UserImportRow row = pending.row();
+            String conflict = existingUsernames.contains(normalize(row.username())) ? "Username already exists"
+                    : existingEmails.contains(normalize(row.email())) ? "Email already exists"
+                    : row.phoneNumber() != null && existingPhoneNumbers.contains(row.phoneNumber()) ? "Phone number already exists"
+                    : null;
+            if (conflict != null) {
+                progress.fail(pending.line(), row.username(), conflict);
+            } else {
+                accepted.add(pending);
+            }
+        }
+        return accepted;
+    }
+
+    private Object[] toInsertArgs(UserImportRow row, Instant now) {
+        String password = row.passwordHash() != null ? row.passwordHash() : passwordEncoder.encode(row.password());
+        Timestamp timestamp = Timestamp.from(now);
+        return new Object[]{
+                uuidBytes(UUID.randomUUID()),
+                row.username(),
+                row.email(),
+                row.phoneNumber(),
+                password,
+                (row.role() != null ? row.role() : Role.ROLE_USER).name(),
+                timestamp,
+                timestamp
+        };
+    }
+
+    private String validate(UserImportRow row) {
+        Set<ConstraintViolation<UserImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            return violations.iterator().next().getMessage();
+        }
+        if ((row.password() == null) == (row.passwordHash() == null)) {
+            return "Exactly one of password or passwordHash is required";
+        }
+        return null;
+    }
+
+    private static UserImportRow toRow(List<String> columns, List<String> values) {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("expected " + columns.size() + " columns but found " + values.size());
+        }
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            String value = values.get(i);
+            fields.put(columns.get(i), value == null || value.isEmpty() ? null : value);
+        }
+        String role = fields.get("role");
+        return new UserImportRow(fields.get("username"), fields.get("email"), fields.get("phoneNumber"),
+                fields.get("password"), fields.get("passwordHash"), role != null ? Role.valueOf(role) : null);
+    }
+
+    // Splits one CSV line, honouring double-quoted fields and "" escapes
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // Matches the case-insensitive collation of the users table
+    /**
+     * Names the unique constraint a row clashed with, as registration does, or else passes on the database's
+     * reason (a NOT NULL column, a value too long for its column, ...) rather than calling it a duplicate.
+     */
+    private static String rowError(DataIntegrityViolationException e) {
+        String reason = e.getMostSpecificCause().getMessage();
+        String lowerCase = reason != null ? reason.toLowerCase(Locale.ROOT) : "";
+        if (lowerCase.contains(User.UK_USERNAME)) {
+            return "Username already exists";
+        }
+        if (lowerCase.contains(User.UK_EMAIL)) {
+            return "Email already exists";
+        }
+        if (lowerCase.contains(User.UK_PHONE_NUMBER)) {
+            return "Phone number already exists";
+        }
+        return reason != null ? reason : "Rejected by the database";
+    }
+
+    private static String normalize(String value) {
+        return value != null ? value.toLowerCase(Locale.ROOT) : null;
+    }
+
+    // Hibernate stores UUID ids as binary(16) on MySQL
+    private static byte[] uuidBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    private record PendingRow(long line, UserImportRow row) {
+    }
+
+    /**
+     * Running counts for one import, reported to the listener as events.
+     */
+    private static final class ImportProgress {
+
+        private final Consumer<UserImportEvent> listener;
+        private long processed;
+        private long imported;
+        private long failed;
+
+        ImportProgress(Consumer<UserImportEvent> listener) {
+            this.listener = listener;
+        }
+
+        void fail(long line, String username, String error) {
+            processed++;
+            failed++;
+            listener.accept(UserImportEvent.failure(line, username, error));
+        }
+
+        void imported(int count) {
+            processed += count;
+            imported += count;
+        }
+
+        void batchDone() {
+            listener.accept(UserImportEvent.progress(processed, imported, failed));
+        }
+
+        UserImportEvent summary() {
+            UserImportEvent summary = UserImportEvent.summary(processed, imported, failed);
+            listener.accept(summary);
+            return summary;
+        }
+    }
+}
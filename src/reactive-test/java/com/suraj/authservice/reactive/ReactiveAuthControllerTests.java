@@ -0,0 +1,189 @@
+package com.suraj.authservice.reactive;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.suraj.authservice.dto.ApiResponse;
+import com.suraj.authservice.dto.TokenResponse;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.exception.AuthenticationFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * The WebFlux deployment end to end through its security filter chain, with the R2DBC-backed user
+ * repository and refresh token service mocked out so no database is needed.
+ */
+@SpringBootTest(classes = ReactiveAuthServiceApplication.class, properties = {
+        "spring.main.web-application-type=reactive",
+        "jwt.key-store-file=",
+        "auth.jwt.use-db=true"
+})
+@AutoConfigureWebTestClient
+@ActiveProfiles("reactive")
+class ReactiveAuthControllerTests {
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void revocationFile(DynamicPropertyRegistry registry) {
+        registry.add("auth.jwt.revocation.file", () -> directory.resolve("revoked-tokens.log").toString());
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @MockBean
+    private ReactiveUserRepository userRepository;
+
+    @MockBean
+    private ReactiveRefreshTokenService refreshTokenService;
+
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setId(UUID.randomUUID());
+        admin.setUsername("admin");
+        admin.setEmail("admin@example.com");
+        admin.setPassword(passwordEncoder.encode("correct-password"));
+        admin.setRole(Role.ROLE_ADMIN);
+        when(userRepository.findByUsername("admin")).thenAnswer(invocation -> Mono.just(copyOf(admin)));
+        when(userRepository.findByUsername("nobody")).thenReturn(Mono.empty());
+    }
+
+    @Test
+    void loginReturnsTokensThatAuthenticateLaterRequests() {
+        when(refreshTokenService.issue(any())).thenReturn(Mono.just("refresh-1"));
+
+        TokenResponse tokens = login("admin", "correct-password")
+                .expectStatus().isOk()
+                .expectBody(new ParameterizedTypeReference<ApiResponse<TokenResponse>>() {
+                })
+                .returnResult()
+                .getResponseBody()
+                .getData();
+
+        assertThat(tokens.refreshToken()).isEqualTo("refresh-1");
+        assertThat(tokens.tokenType()).isEqualTo("Bearer");
+        String accessToken = tokens.accessToken();
+        webTestClient.get().uri("/api/v1/admin/roles/info")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isOk();
+    }
+
+    @Test
+    void loginWithAWrongPasswordIsUnauthorized() {
+        login("admin", "wrong-password").expectStatus().isUnauthorized();
+        login("nobody", "correct-password").expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void refreshReturnsTheNextRefreshTokenAndAFreshAccessToken() {
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(Mono.just(new ReactiveRefreshTokenService.RotatedToken("refresh-2", copyOf(admin))));
+
+        webTestClient.post().uri("/api/v1/auth/refresh")
+                .bodyValue(Map.of("refreshToken", "refresh-1"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.data.refreshToken").isEqualTo("refresh-2")
+                .jsonPath("$.data.accessToken").isNotEmpty();
+    }
+
+    @Test
+    void refreshWithAUsedTokenIsUnauthorized() {
+        when(refreshTokenService.rotate("refresh-1"))
+                .thenReturn(Mono.error(new AuthenticationFailedException("Refresh token has already been used")));
+
+        webTestClient.post().uri("/api/v1/auth/refresh")
+                .bodyValue(Map.of("refreshToken", "refresh-1"))
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    @Test
+    void tokensWithAForeignSignatureAreRejected() {
+        String forged = JWT.create()
+                .withKeyId("primary")
+                .withIssuer("stranger-app")
+                .withSubject("admin")
+                .withJWTId(UUID.randomUUID().toString())
+                .withClaim("role", Role.ROLE_ADMIN.name())
+                .withIssuedAt(Instant.now())
+                .withExpiresAt(Instant.now().plusSeconds(600))
+                .sign(Algorithm.HMAC256("some-other-secret-of-reasonable-length"));
+
+        webTestClient.get().uri("/api/v1/admin/roles/info")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + forged)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED);
+        webTestClient.get().uri("/api/v1/admin/roles/info")
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    @Test
+    void tokensOfUsersThatNoLongerExistAreRejected() {
+        // Its own user, so no other test has put it in the principal cache
+        User leaver = copyOf(admin);
+        leaver.setUsername("leaver");
+        when(userRepository.findByUsername("leaver")).thenReturn(Mono.just(leaver));
+        when(refreshTokenService.issue(any())).thenReturn(Mono.just("refresh-1"));
+        String accessToken = login("leaver", "correct-password")
+                .expectBody(new ParameterizedTypeReference<ApiResponse<TokenResponse>>() {
+                })
+                .returnResult()
+                .getResponseBody()
+                .getData()
+                .accessToken();
+        when(userRepository.findByUsername("leaver")).thenReturn(Mono.empty());
+
+        webTestClient.get().uri("/api/v1/admin/roles/info")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient.ResponseSpec login(String username, String password) {
+        return webTestClient.post().uri("/api/v1/auth/login")
+                .bodyValue(Map.of("username", username, "password", password))
+                .exchange();
+    }
+
+    // The service mutates the user it is handed on a re-hash, so each load gets its own
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getUsername(), user.getEmail(), user.getPhoneNumber(),
+                user.getPassword(), user.getRole(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
@@ -0,0 +1,122 @@
+package com.suraj.authservice.reactive;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.security.AuthFailureLog;
+import com.suraj.authservice.security.AuthFailureResponses;
+import com.suraj.authservice.security.AuthorityCache;
+import com.suraj.authservice.security.JWTService;
+import com.suraj.authservice.security.TokenRevocationStore;
+import com.suraj.authservice.security.VerifiedTokenCache;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * WebFilter equivalent of {@code JwtAuthenticationFilter}, with the same two modes:
+ * JWT-only (authorities from the token) and DB-based ({@code auth.jwt.use-db}, authorities from the
+ * {@code users} table through the cached reactive user lookup).
+ * <p>
+ * Verification is CPU-only and short, so it runs inline on the event loop; only the user lookup is
+ * asynchronous. Not a bean: WebFlux would otherwise also add it to the global filter chain, so
+ * {@link ReactiveSecurityConfig} creates it for the security chain only.
+ */
+public class JwtAuthenticationWebFilter implements WebFilter {
+
+    private final JWTService jwtService;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final AuthorityCache authorityCache;
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+    private final AuthFailureResponses failureResponses;
+    private final AuthFailureLog failureLog;
+    private final AuthMetrics metrics;
+    private final boolean useDbBasedJwt;
+
+    public JwtAuthenticationWebFilter(JWTService jwtService,
+                                      VerifiedTokenCache verifiedTokenCache,
+                                      TokenRevocationStore tokenRevocationStore,
+                                      AuthorityCache authorityCache,
+                                      ReactiveUserDetailsServiceImpl userDetailsService,
+                                      AuthFailureResponses failureResponses,
+                                      AuthFailureLog failureLog,
+                                      AuthMetrics metrics,
+                                      boolean useDbBasedJwt) {
+        this.jwtService = jwtService;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.tokenRevocationStore = tokenRevocationStore;
+        this.authorityCache = authorityCache;
+        this.userDetailsService = userDetailsService;
+        this.failureResponses = failureResponses;
+        this.failureLog = failureLog;
+        this.metrics = metrics;
+        this.useDbBasedJwt = useDbBasedJwt;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return chain.filter(exchange);
+        }
+        String token = authHeader.substring(7);
+
+        VerifiedTokenCache.VerifiedToken verifiedToken;
+        try {
+            verifiedToken = verifiedTokenCache.get(token);
+            if (verifiedToken == null) {
+                DecodedJWT decodedJWT = metrics.tokenVerification().record(() -> jwtService.validateToken(token));
+                verifiedToken = verifiedTokenCache.put(token, decodedJWT,
+                        authorityCache.resolve(decodedJWT.getClaim("roles").asString()));
+            }
+        } catch (JWTVerificationException e) {
+            return reject(exchange, e.getMessage(), AuthMetrics.failureType(e));
+        }
+
+        if (verifiedToken.username() == null) {
+            return chain.filter(exchange);
+        }
+        if (tokenRevocationStore.isRevoked(verifiedToken.tokenId())) {
+            return reject(exchange, "Token has been revoked", AuthMetrics.FAILURE_REVOKED);
+        }
+
+        String username = verifiedToken.username();
+        Mono<Authentication> authentication = useDbBasedJwt
+                ? userDetailsService.findByUsername(username)
+                        .map(userDetails -> new UsernamePasswordAuthenticationToken(
+                                userDetails, null, userDetails.getAuthorities()))
+                : Mono.just(new UsernamePasswordAuthenticationToken(username, null, verifiedToken.authorities()));
+
+        // The chain itself completes empty, so a missing user has to be told apart before it runs
+        return authentication
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(resolved -> resolved.isPresent()
+                        ? chain.filter(exchange)
+                                .contextWrite(ReactiveSecurityContextHolder.withAuthentication(resolved.get()))
+                        : reject(exchange, "User no longer exists", AuthMetrics.FAILURE_INVALID));
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, String reason, String type) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        failureLog.record(type, reason, remoteAddress != null ? remoteAddress.getHostString() : null);
+        metrics.tokenFailure(type);
+
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(failureResponses.unauthorized(type))));
+    }
+}
@@ -0,0 +1,72 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.dto.ApiResponse;
+import com.suraj.authservice.dto.KeyRotationRequest;
+import com.suraj.authservice.dto.RoleChangeRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same contract as {@code AdminController}, served by {@link ReactiveAdminService}.
+ * The bulk user import is only available in the servlet deployment.
+ */
+@RestController
+@RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveAdminController {
+
+    private final ReactiveAdminService adminService;
+
+    @PutMapping("/users/role")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    public Mono<ResponseEntity<ApiResponse<String>>> changeUserRole(@Valid @RequestBody RoleChangeRequest request) {
+        log.debug("Role change request received for user: {}", request.username());
+
+        return adminService.changeUserRole(request)
+                .map(result -> ResponseEntity.ok(new ApiResponse<>(
+                        200,
+                        true,
+                        "Role updated successfully",
+                        result
+                )));
+    }
+
+    @PostMapping("/keys/rotate")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    public Mono<ResponseEntity<ApiResponse<String>>> rotateSigningKey(@Valid @RequestBody KeyRotationRequest request) {
+        log.debug("Signing key rotation request received for key: {}", request.keyId());
+
+        return adminService.rotateSigningKey(request)
+                .map(result -> ResponseEntity.ok(new ApiResponse<>(
+                        200,
+                        true,
+                        "Signing key rotated successfully",
+                        result
+                )));
+    }
+
+    @GetMapping("/roles/info")
+    @PreAuthorize("@roleAuthorization.atLeast(authentication, 'ROLE_ADMIN')")
+    public Mono<ResponseEntity<ApiResponse<String>>> getRoleSystemInfo() {
+        return Mono.just(ResponseEntity.ok(new ApiResponse<>(
+                200,
+                true,
+                "Role System Information",
+                "The system supports the following roles: ROLE_USER (basic access), ROLE_ADMIN (full access), " +
+                        "ROLE_MANAGER (department management), ROLE_AUDITOR (read-only access), " +
+                        "ROLE_SUPPORT (customer support). Role changes are audited and can only be " +
+                        "performed by administrators."
+        )));
+    }
+}
@@ -0,0 +1,94 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.dto.KeyRotationRequest;
+import com.suraj.authservice.dto.RoleChangeRequest;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
+import com.suraj.authservice.exception.InvalidRoleException;
+import com.suraj.authservice.exception.ResourceNotFoundException;
+import com.suraj.authservice.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.ReactiveSecurityContextHolder;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.LocalDateTime;
+
+/**
+ * Reactive counterpart of {@code AdminServiceImpl}. The acting administrator is read from the
+ * reactive security context instead of the thread-bound one.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveAdminService {
+
+    private final ReactiveUserRepository userRepository;
+    private final JwtKeyRing jwtKeyRing;
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+    private final AuthEventLog authEventLog;
+
+    public Mono<String> changeUserRole(RoleChangeRequest request) {
+        String username = request.username();
+        Role newRole = request.newRole();
+        String reason = request.reason();
+
+        return currentAdmin().flatMap(adminUsername -> userRepository.findByUsername(username)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("User", "username", username)))
+                .flatMap(user -> {
+                    Role oldRole = user.getRole();
+
+                    // Prevent changing your own role (security measure)
+                    if (username.equals(adminUsername)) {
+                        return Mono.error(new InvalidRoleException("Administrators cannot change their own role"));
+                    }
+
+                    // Only allow changes if the role is actually different
+                    if (oldRole == newRole) {
+                        return Mono.just(String.format("User '%s' already has the role %s. No changes made.",
+                                username, newRole));
+                    }
+
+                    return userRepository.updateRole(username, newRole).map(updated -> {
+                        // Make the new role effective on the user's next request
+                        userDetailsService.evict(username);
+
+                        authEventLog.publish(AuthEventType.ROLE_CHANGED, username, null,
+                                "oldRole", oldRole.name(),
+                                "newRole", newRole.name(),
+                                "changedBy", adminUsername,
+                                "reason", reason != null ? reason : "No reason provided");
+
+                        return String.format("User '%s' role successfully changed from %s to %s",
+                                username, oldRole, newRole);
+                    });
+                }));
+    }
+
+    public Mono<String> rotateSigningKey(KeyRotationRequest request) {
+        boolean activate = request.activate() == null || request.activate();
+
+        return currentAdmin().flatMap(adminUsername -> Mono
+                // Generating an asymmetric key pair is slow enough to keep off the event loop
+                .fromCallable(() -> jwtKeyRing.rotate(request.keyId(), request.secret(), activate))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(key -> {
+                    log.info("Signing key rotation: key '{}' {} by admin '{}' at {}",
+                            key.keyId(), activate ? "activated" : "staged", adminUsername, LocalDateTime.now());
+
+                    return activate
+                            ? String.format("Signing key '%s' is now active", key.keyId())
+                            : String.format("Signing key '%s' staged for verification", key.keyId());
+                }));
+    }
+
+    private static Mono<String> currentAdmin() {
+        return ReactiveSecurityContextHolder.getContext()
+                .map(SecurityContext::getAuthentication)
+                .map(authentication -> authentication.getName());
+    }
+}
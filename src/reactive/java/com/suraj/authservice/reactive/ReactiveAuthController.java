@@ -0,0 +1,98 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.dto.ApiResponse;
+import com.suraj.authservice.dto.LoginRequest;
+import com.suraj.authservice.dto.RefreshTokenRequest;
+import com.suraj.authservice.dto.RegisterRequest;
+import com.suraj.authservice.dto.TokenResponse;
+import com.suraj.authservice.security.AuthRateLimiter;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Optional;
+
+/**
+ * Same contract as {@code AuthController}, served by {@link ReactiveAuthService}.
+ */
+@RestController
+@RequestMapping("/api/v1/auth")
+@RequiredArgsConstructor
+public class ReactiveAuthController {
+
+    private final ReactiveAuthService authService;
+    private final AuthRateLimiter authRateLimiter;
+
+    @PostMapping("/register")
+    public Mono<ResponseEntity<ApiResponse<String>>> register(@Valid @RequestBody RegisterRequest request,
+                                                              ServerHttpRequest httpRequest) {
+        authRateLimiter.checkRegistration(request.username(), clientIp(httpRequest));
+        return authService.register(request)
+                .map(message -> ResponseEntity.status(HttpStatus.CREATED).body(new ApiResponse<>(
+                        HttpStatus.CREATED.value(),
+                        true,
+                        "User Registration Successful",
+                        message
+                )));
+    }
+
+    @PostMapping("/login")
+    public Mono<ResponseEntity<ApiResponse<TokenResponse>>> login(@Valid @RequestBody LoginRequest request,
+                                                                  ServerHttpRequest httpRequest) {
+        String clientIp = clientIp(httpRequest);
+        authRateLimiter.checkLogin(request.username(), clientIp);
+        return authService.login(request, clientIp)
+                .map(authData -> ResponseEntity.ok(new ApiResponse<>(
+                        HttpStatus.OK.value(),
+                        true,
+                        "Authentication Successful",
+                        authData
+                )));
+    }
+
+    @PostMapping("/refresh")
+    public Mono<ResponseEntity<ApiResponse<TokenResponse>>> refresh(@Valid @RequestBody RefreshTokenRequest request) {
+        return authService.refresh(request)
+                .map(authData -> ResponseEntity.ok(new ApiResponse<>(
+                        HttpStatus.OK.value(),
+                        true,
+                        "Token Refresh Successful",
+                        authData
+                )));
+    }
+
+    @PostMapping("/logout")
+    public Mono<ResponseEntity<ApiResponse<String>>> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) Mono<RefreshTokenRequest> request,
+            ServerHttpRequest httpRequest) {
+        String token = (authorization != null && authorization.startsWith("Bearer "))
+                ? authorization.substring(7)
+                : null;
+        String clientIp = clientIp(httpRequest);
+        return request.map(body -> Optional.ofNullable(body.refreshToken()))
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(refreshToken -> authService.logout(token, refreshToken.orElse(null), clientIp))
+                .map(message -> ResponseEntity.ok(new ApiResponse<>(
+                        HttpStatus.OK.value(),
+                        true,
+                        "Logout Successful",
+                        message
+                )));
+    }
+
+    private static String clientIp(ServerHttpRequest httpRequest) {
+        InetSocketAddress remoteAddress = httpRequest.getRemoteAddress();
+        return remoteAddress != null ? remoteAddress.getHostString() : null;
+    }
+}
@@ -0,0 +1,177 @@
+package com.suraj.authservice.reactive;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.suraj.authservice.dto.LoginRequest;
+import com.suraj.authservice.dto.RefreshTokenRequest;
+import com.suraj.authservice.dto.RegisterRequest;
+import com.suraj.authservice.dto.TokenResponse;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
+import com.suraj.authservice.exception.AuthenticationFailedException;
+import com.suraj.authservice.exception.PasswordHashingOverloadedException;
+import com.suraj.authservice.exception.UserAlreadyExistsException;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.security.CustomUserDetails;
+import com.suraj.authservice.security.JWTService;
+import com.suraj.authservice.security.TokenRevocationStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Instant;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reactive counterpart of {@code AuthServiceImpl}, with the same messages and error mapping.
+ * <p>
+ * Hashing runs on the password hashing scheduler, token signing on the parallel scheduler and file-backed
+ * revocation on the bounded elastic scheduler, so none of it holds up the event loop.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveAuthService {
+
+    private final ReactiveUserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ReactiveAuthenticationManager authenticationManager;
+    private final Scheduler passwordHashingScheduler;
+    private final JWTService jwtService;
+    private final AuthMetrics metrics;
+    private final TokenRevocationStore tokenRevocationStore;
+    private final ReactiveRefreshTokenService refreshTokenService;
+    private final AuthEventLog authEventLog;
+
+    @Value("${auth.password-hashing.retry-after-seconds:1}")
+    private long retryAfterSeconds;
+
+    public Mono<String> register(RegisterRequest request) {
+        return Mono.fromCallable(() -> passwordEncoder.encode(request.password()))
+                .subscribeOn(passwordHashingScheduler)
+                .onErrorMap(RejectedExecutionException.class, this::overloaded)
+                .flatMap(encodedPassword -> {
+                    User user = new User();
+                    user.setUsername(request.username());
+                    user.setEmail(request.email());
+                    user.setPhoneNumber(request.phoneNumber());
+                    user.setPassword(encodedPassword);
+                    user.setRole(Role.ROLE_USER); // Default role
+                    // The unique constraints on users reject duplicates, including concurrent sign-ups
+                    return userRepository.insert(user);
+                })
+                .onErrorMap(DataIntegrityViolationException.class, ReactiveAuthService::toUserAlreadyExists)
+                .map(savedUser -> "User registration successful for " + savedUser.getUsername());
+    }
+
+    private static RuntimeException toUserAlreadyExists(DataIntegrityViolationException e) {
+        String message = e.getMessage() != null ? e.getMessage().toLowerCase() : "";
+        if (message.contains(User.UK_USERNAME)) {
+            return new UserAlreadyExistsException("username", "Username already exists");
+        }
+        if (message.contains(User.UK_EMAIL)) {
+            return new UserAlreadyExistsException("email", "Email already exists");
+        }
+        if (message.contains(User.UK_PHONE_NUMBER)) {
+            return new UserAlreadyExistsException("phoneNumber", "Phone number already exists");
+        }
+        return e;
+    }
+
+    public Mono<TokenResponse> login(LoginRequest request, String clientIp) {
+        return authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(request.username(), request.password()))
+                .flatMap(authentication -> {
+                    CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+                    return Mono.zip(mint(userDetails), refreshTokenService.issue(userDetails.getUser()));
+                })
+                .map(tokens -> {
+                    authEventLog.publish(AuthEventType.LOGIN_SUCCESS, request.username(), clientIp);
+                    return new TokenResponse(tokens.getT1(), tokens.getT2(), jwtService.getExpirationSeconds());
+                })
+                .onErrorMap(e -> {
+                    if (e instanceof BadCredentialsException) {
+                        authEventLog.publish(AuthEventType.LOGIN_FAILURE, request.username(), clientIp,
+                                "reason", "bad_credentials");
+                        return new AuthenticationFailedException("Invalid username or password");
+                    }
+                    if (e instanceof RejectedExecutionException) {
+                        // Not an authentication failure, let the client retry with the same credentials
+                        return overloaded(e);
+                    }
+                    if (e instanceof PasswordHashingOverloadedException) {
+                        return e;
+                    }
+                    log.error("Authentication error: {}", e.getMessage());
+                    authEventLog.publish(AuthEventType.LOGIN_FAILURE, request.username(), clientIp, "reason", "error");
+                    return new AuthenticationFailedException("Authentication failed", e);
+                });
+    }
+
+    public Mono<TokenResponse> refresh(RefreshTokenRequest request) {
+        return refreshTokenService.rotate(request.refreshToken())
+                // The user was read with the token, so role changes since login are picked up here
+                .flatMap(rotated -> mint(new CustomUserDetails(rotated.user()))
+                        .map(token -> {
+                            log.debug("Access token refreshed for user: {}", rotated.user().getUsername());
+                            return new TokenResponse(token, rotated.refreshToken(), jwtService.getExpirationSeconds());
+                        }));
+    }
+
+    public Mono<String> logout(String token, String refreshToken, String clientIp) {
+        if (token == null && refreshToken == null) {
+            return Mono.error(new AuthenticationFailedException("Missing bearer token or refresh token"));
+        }
+
+        DecodedJWT decodedJWT = null;
+        if (token != null) {
+            try {
+                decodedJWT = jwtService.validateToken(token);
+            } catch (JWTVerificationException e) {
+                if (refreshToken == null) {
+                    return Mono.error(new AuthenticationFailedException("Invalid or expired token", e));
+                }
+                log.debug("Access token not revoked on logout: {}", e.getMessage());
+            }
+        }
+
+        // The refresh token outlives the access token by days, so it is revoked whatever state the access token is in
+        Mono<Void> revokeRefreshToken = refreshToken != null ? refreshTokenService.revoke(refreshToken) : Mono.empty();
+        String username = decodedJWT != null ? decodedJWT.getSubject() : null;
+        Mono<Void> revokeAccessToken = Mono.empty();
+        if (decodedJWT != null) {
+            // Revoked until exp; the store appends to its log file, so keep that off the event loop
+            String tokenId = decodedJWT.getId();
+            Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+            revokeAccessToken = Mono.<Void>fromRunnable(() -> tokenRevocationStore.revoke(tokenId, expiresAt))
+                    .subscribeOn(Schedulers.boundedElastic());
+        }
+
+        return revokeRefreshToken.then(revokeAccessToken)
+                .then(Mono.fromSupplier(() -> {
+                    authEventLog.publish(AuthEventType.LOGOUT, username, clientIp);
+                    return username != null ? "Logout successful for " + username : "Logout successful";
+                }));
+    }
+
+    private Mono<String> mint(CustomUserDetails userDetails) {
+        return Mono.fromCallable(() -> jwtService.generateJwtToken(userDetails))
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    private PasswordHashingOverloadedException overloaded(Throwable e) {
+        log.warn("Password hashing scheduler rejected a task: {}", e.getMessage());
+        return new PasswordHashingOverloadedException("Password hashing queue is full", retryAfterSeconds);
+    }
+}
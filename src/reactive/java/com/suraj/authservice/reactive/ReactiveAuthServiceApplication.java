@@ -0,0 +1,77 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.exception.GlobalExceptionHandler;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.security.AuthFailureLog;
+import com.suraj.authservice.security.AuthFailureResponses;
+import com.suraj.authservice.security.AuthRateLimiter;
+import com.suraj.authservice.security.AuthorityCache;
+import com.suraj.authservice.security.JWTService;
+import com.suraj.authservice.security.JwtKeyRing;
+import com.suraj.authservice.security.PasswordEncoderCalibrator;
+import com.suraj.authservice.security.RoleAuthorization;
+import com.suraj.authservice.security.TokenRevocationStore;
+import com.suraj.authservice.security.VerifiedTokenCache;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * WebFlux deployment of the auth service: Netty instead of Tomcat, R2DBC against the same {@code users}
+ * and {@code refresh_tokens} tables instead of JPA, and the same {@code /api/v1/auth} and
+ * {@code /api/v1/admin} contracts.
+ * <p>
+ * Only this package is scanned. The stateless building blocks (key ring, token service and caches,
+ * revocation store, password encoder calibration, metrics and error mapping) are shared with the
+ * servlet application; everything that blocks has a reactive counterpart here.
+ * Built with {@code mvn -Preactive}; runs with the {@code reactive} Spring profile added.
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@ComponentScan
+@Import({
+        JwtKeyRing.class,
+        JWTService.class,
+        VerifiedTokenCache.class,
+        AuthorityCache.class,
+        TokenRevocationStore.class,
+        PasswordEncoderCalibrator.class,
+        AuthMetrics.class,
+        AuthRateLimiter.class,
+        AuthEventLog.class,
+        AuthFailureResponses.class,
+        AuthFailureLog.class,
+        RoleAuthorization.class,
+        GlobalExceptionHandler.class
+})
+@EnableScheduling
+public class ReactiveAuthServiceApplication {
+
+    // Tomcat stays on the classpath for the servlet application and would otherwise be picked first
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ReactiveAuthServiceApplication.class);
+        // Spring MVC is on the classpath as well, so the web stack has to be chosen explicitly
+        application.setWebApplicationType(WebApplicationType.REACTIVE);
+        application.setAdditionalProfiles("reactive");
+        application.run(args);
+    }
+}
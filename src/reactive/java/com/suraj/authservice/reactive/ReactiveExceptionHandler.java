@@ -0,0 +1,74 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.dto.ApiResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebInputException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * WebFlux-specific request errors. Runs before {@code GlobalExceptionHandler}, whose catch-all would
+ * otherwise answer them with 500.
+ */
+@RestControllerAdvice
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class ReactiveExceptionHandler {
+
+    /**
+     * Handles validation exceptions that occur during request body validation.
+     *
+     * @param ex The WebExchangeBindException thrown during validation
+     * @return A ResponseEntity containing validation error details
+     */
+    @ExceptionHandler(WebExchangeBindException.class)
+    public ResponseEntity<ApiResponse<Map<String, String>>> handleValidationExceptions(WebExchangeBindException ex) {
+        Map<String, String> errors = new HashMap<>();
+
+        ex.getBindingResult().getAllErrors().forEach(error -> {
+            String fieldName = ((FieldError) error).getField();
+            String errorMessage = error.getDefaultMessage();
+            errors.put(fieldName, errorMessage);
+        });
+
+        log.debug("Validation failed for fields: {}", errors.keySet());
+
+        ApiResponse<Map<String, String>> apiResponse = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                false,
+                "Validation failed for one or more fields. Please check the input and try again.",
+                errors
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handles unreadable or missing request bodies.
+     *
+     * @param ex The ServerWebInputException thrown while reading the request
+     * @return A ResponseEntity with bad request status
+     */
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<ApiResponse<String>> handleServerWebInputException(ServerWebInputException ex) {
+        log.debug("Unreadable request: {}", ex.getReason());
+
+        ApiResponse<String> apiResponse = new ApiResponse<>(
+                HttpStatus.BAD_REQUEST.value(),
+                false,
+                "Malformed request",
+                ex.getReason()
+        );
+
+        return new ResponseEntity<>(apiResponse, HttpStatus.BAD_REQUEST);
+    }
+}
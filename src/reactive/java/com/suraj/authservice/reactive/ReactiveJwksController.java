@@ -0,0 +1,46 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.security.JwtKeyRing;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+
+/**
+ * Same contract as {@code JwksController}: the pre-rendered key set, served with an ETag.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ReactiveJwksController {
+
+    private final JwtKeyRing jwtKeyRing;
+
+    @Value("${jwt.jwks.max-age-seconds:300}")
+    private long maxAgeSeconds;
+
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> jwks(ServerWebExchange exchange) {
+        JwtKeyRing.JsonWebKeySet jsonWebKeySet = jwtKeyRing.jsonWebKeySet();
+        CacheControl cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+
+        if (exchange.checkNotModified(jsonWebKeySet.eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(jsonWebKeySet.eTag())
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+
+        return ResponseEntity.ok()
+                .eTag(jsonWebKeySet.eTag())
+                .cacheControl(cacheControl)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(jsonWebKeySet.json());
+    }
+}
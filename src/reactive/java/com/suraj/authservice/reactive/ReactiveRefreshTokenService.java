@@ -0,0 +1,166 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.exception.AuthenticationFailedException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * Reactive counterpart of {@code RefreshTokenService}, on the same {@code refresh_tokens} table and with
+ * the same rules: single-use tokens stored as SHA-256 hashes, rotation within a family, and revocation of
+ * the whole family when a used token comes back.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReactiveRefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private final DatabaseClient databaseClient;
+
+    @Value("${jwt.refresh-expiration-seconds:1209600}") // 14 days default
+    private long refreshExpirationSeconds;
+
+    /**
+     * Starts a new token family for a fresh login.
+     */
+    public Mono<String> issue(User user) {
+        return issue(user, UUID.randomUUID());
+    }
+
+    /**
+     * Exchanges a refresh token for the next one in its family.
+     *
+     * @return the replacement token and the user it belongs to
+     */
+    public Mono<RotatedToken> rotate(String token) {
+        return databaseClient.sql("SELECT r.id AS token_id, r.family_id, r.expires_at, r.used_at, r.revoked, "
+                        + ReactiveUserRepository.USER_COLUMNS
+                        + " FROM refresh_tokens r JOIN users u ON u.id = r.user_id WHERE r.token_hash = :tokenHash")
+                .bind("tokenHash", hash(token))
+                .map(row -> new StoredToken(
+                        ReactiveUserRepository.toUuid(row.get("token_id")),
+                        ReactiveUserRepository.toUuid(row.get("family_id")),
+                        ReactiveUserRepository.toInstant(row.get("expires_at")),
+                        row.get("used_at") != null,
+                        Boolean.TRUE.equals(row.get("revoked", Boolean.class)),
+                        ReactiveUserRepository.toUser(row)))
+                .one()
+                .switchIfEmpty(Mono.error(() -> new AuthenticationFailedException("Invalid refresh token")))
+                .flatMap(this::rotate);
+    }
+
+    /**
+     * Revokes the family the token belongs to. Unknown tokens are ignored.
+     */
+    public Mono<Void> revoke(String token) {
+        return databaseClient.sql("UPDATE refresh_tokens SET revoked = true WHERE revoked = false AND family_id = "
+                        + "(SELECT family_id FROM (SELECT family_id FROM refresh_tokens WHERE token_hash = :tokenHash) f)")
+                .bind("tokenHash", hash(token))
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.refresh-purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        databaseClient.sql("DELETE FROM refresh_tokens WHERE expires_at < :now")
+                .bind("now", ReactiveUserRepository.toDateTime(Instant.now()))
+                .fetch()
+                .rowsUpdated()
+                .subscribe(
+                        purged -> log.debug("Purged {} expired refresh tokens", purged),
+                        e -> log.error("Failed to purge expired refresh tokens", e));
+    }
+
+    private Mono<RotatedToken> rotate(StoredToken current) {
+        if (current.revoked()) {
+            return Mono.error(new AuthenticationFailedException("Refresh token has been revoked"));
+        }
+        if (!current.expiresAt().isAfter(Instant.now())) {
+            return Mono.error(new AuthenticationFailedException("Refresh token has expired"));
+        }
+        Mono<Long> consumed = current.used()
+                ? Mono.just(0L)
+                : databaseClient.sql("UPDATE refresh_tokens SET used_at = :usedAt "
+                                + "WHERE id = :id AND used_at IS NULL AND revoked = false")
+                        .bind("usedAt", ReactiveUserRepository.toDateTime(Instant.now()))
+                        .bind("id", ReactiveUserRepository.toBytes(current.id()))
+                        .fetch()
+                        .rowsUpdated();
+
+        return consumed.flatMap(updated -> {
+            if (updated == 0) {
+                // Already used: the token was copied, or two refreshes raced; either way end the family
+                return revokeFamily(current.familyId())
+                        .then(Mono.error(() -> {
+                            log.warn("Refresh token reuse detected for user {}, revoked token family {}",
+                                    current.user().getUsername(), current.familyId());
+                            return new AuthenticationFailedException("Refresh token has already been used");
+                        }));
+            }
+            return issue(current.user(), current.familyId())
+                    .map(next -> new RotatedToken(next, current.user()));
+        });
+    }
+
+    private Mono<Void> revokeFamily(UUID familyId) {
+        return databaseClient.sql("UPDATE refresh_tokens SET revoked = true WHERE family_id = :familyId AND revoked = false")
+                .bind("familyId", ReactiveUserRepository.toBytes(familyId))
+                .then();
+    }
+
+    private Mono<String> issue(User user, UUID familyId) {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        String token = ENCODER.encodeToString(bytes);
+        Instant now = Instant.now();
+
+        return databaseClient.sql("INSERT INTO refresh_tokens "
+                        + "(id, token_hash, family_id, user_id, expires_at, used_at, revoked, created_at) "
+                        + "VALUES (:id, :tokenHash, :familyId, :userId, :expiresAt, NULL, false, :createdAt)")
+                .bind("id", ReactiveUserRepository.toBytes(UUID.randomUUID()))
+                .bind("tokenHash", hash(token))
+                .bind("familyId", ReactiveUserRepository.toBytes(familyId))
+                .bind("userId", ReactiveUserRepository.toBytes(user.getId()))
+                .bind("expiresAt", ReactiveUserRepository.toDateTime(now.plusSeconds(refreshExpirationSeconds)))
+                .bind("createdAt", ReactiveUserRepository.toDateTime(now))
+                .then()
+                .thenReturn(token);
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private record StoredToken(UUID id, UUID familyId, Instant expiresAt, boolean used, boolean revoked, User user) {
+    }
+
+    /**
+     * Result of a successful rotation.
+     *
+     * @param refreshToken the token that replaces the one presented
+     * @param user         the owner, read with the token so the access token reflects the current role
+     */
+    public record RotatedToken(String refreshToken, User user) {
+    }
+}
@@ -0,0 +1,134 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.security.AuthFailureLog;
+import com.suraj.authservice.security.AuthFailureResponses;
+import com.suraj.authservice.security.AuthorityCache;
+import com.suraj.authservice.security.JWTService;
+import com.suraj.authservice.security.PasswordEncoderCalibrator;
+import com.suraj.authservice.security.RoleAuthorization;
+import com.suraj.authservice.security.TokenRevocationStore;
+import com.suraj.authservice.security.VerifiedTokenCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.ReactiveAuthenticationManager;
+import org.springframework.security.authentication.UserDetailsRepositoryReactiveAuthenticationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Security setup of the WebFlux deployment, mirroring {@code SecurityConfig}: stateless, the same
+ * public routes, and JWT authentication through {@link JwtAuthenticationWebFilter}.
+ * <p>
+ * Password hashing never runs on the event loop. Login verification and registration hashing go to a
+ * bounded scheduler sized by the same {@code auth.password-hashing.*} properties as the servlet
+ * {@code PasswordHashingExecutor}; when its queue is full the task is rejected and the caller answers 503.
+ */
+@Configuration
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+@RequiredArgsConstructor
+public class ReactiveSecurityConfig {
+
+    private final ReactiveUserDetailsServiceImpl userDetailsService;
+    private final PasswordEncoderCalibrator passwordEncoderCalibrator;
+    private final AuthMetrics authMetrics;
+    private final RoleAuthorization roleAuthorization;
+
+    private static final String[] WHITE_LIST_URLS = {
+            "/api/v1/auth/**",
+            "/.well-known/jwks.json",
+            "/actuator/health",
+            "/actuator/prometheus"  // only served on management.server.port, never on the application port
+    };
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         JWTService jwtService,
+                                                         VerifiedTokenCache verifiedTokenCache,
+                                                         TokenRevocationStore tokenRevocationStore,
+                                                         AuthorityCache authorityCache,
+                                                         AuthFailureResponses failureResponses,
+                                                         AuthFailureLog failureLog,
+                                                         @Value("${auth.jwt.use-db:false}") boolean useDbBasedJwt) {
+        JwtAuthenticationWebFilter jwtAuthenticationWebFilter = new JwtAuthenticationWebFilter(
+                jwtService, verifiedTokenCache, tokenRevocationStore, authorityCache,
+                userDetailsService, failureResponses, failureLog, authMetrics, useDbBasedJwt);
+
+        return http
+                .csrf(ServerHttpSecurity.CsrfSpec::disable)
+                .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+                .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+                .logout(ServerHttpSecurity.LogoutSpec::disable)
+                .securityContextRepository(NoOpServerSecurityContextRepository.getInstance())
+                .authorizeExchange(exchanges -> exchanges
+                        .pathMatchers(WHITE_LIST_URLS).permitAll()
+                        .pathMatchers("/api/v1/admin/**").access((authentication, context) -> authentication
+                                .map(auth -> new AuthorizationDecision(roleAuthorization.atLeast(auth, Role.ROLE_ADMIN)))
+                                .defaultIfEmpty(new AuthorizationDecision(false)))
+                        .anyExchange().authenticated()
+                )
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.UNAUTHORIZED))
+                )
+                .addFilterAt(jwtAuthenticationWebFilter, SecurityWebFiltersOrder.AUTHENTICATION)
+                .build();
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        PasswordEncoder delegate = passwordEncoderCalibrator.build();
+        // Called on the hashing scheduler, so the timers measure the hash itself
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return authMetrics.passwordEncode().record(() -> delegate.encode(rawPassword));
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return authMetrics.passwordMatch().record(() -> delegate.matches(rawPassword, encodedPassword));
+            }
+
+            @Override
+            public boolean upgradeEncoding(String encodedPassword) {
+                return delegate.upgradeEncoding(encodedPassword);
+            }
+        };
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public Scheduler passwordHashingScheduler(@Value("${auth.password-hashing.threads:0}") int threads,
+                                              @Value("${auth.password-hashing.queue-capacity:0}") int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        int capacity = queueCapacity > 0 ? queueCapacity : poolSize * 4;
+        // The queue cap applies to each of the pool's threads, so split the total between them
+        return Schedulers.newBoundedElastic(poolSize, Math.max(1, capacity / poolSize), "password-hash");
+    }
+
+    @Bean
+    public ReactiveAuthenticationManager reactiveAuthenticationManager(PasswordEncoder passwordEncoder,
+                                                                       Scheduler passwordHashingScheduler) {
+        // Logins read the table directly rather than the cache the JWT filter uses
+        UserDetailsRepositoryReactiveAuthenticationManager authenticationManager =
+                new UserDetailsRepositoryReactiveAuthenticationManager(userDetailsService::loadForLogin);
+        authenticationManager.setPasswordEncoder(passwordEncoder);
+        authenticationManager.setScheduler(passwordHashingScheduler);
+        // Re-hash on successful login when the stored hash doesn't match the current target parameters
+        authenticationManager.setUserDetailsPasswordService(userDetailsService);
+        return authenticationManager;
+    }
+}
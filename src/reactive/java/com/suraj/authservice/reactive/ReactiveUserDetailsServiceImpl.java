@@ -0,0 +1,89 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.cache.ExpiringCache;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.security.CustomUserDetails;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsPasswordService;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive counterpart of {@code CustomUserDetailsService} and {@code CachedUserDetailsService}.
+ * <p>
+ * {@link #findByUsername(String)} is used by the JWT web filter in {@code use-db} mode and is cached
+ * for {@code auth.jwt.user-cache.ttl-seconds}; {@link #loadForLogin(String)} always reads the table so
+ * password checks run against the stored hash.
+ */
+@Service
+public class ReactiveUserDetailsServiceImpl implements ReactiveUserDetailsService, ReactiveUserDetailsPasswordService {
+
+    private final ReactiveUserRepository userRepository;
+    private final AuthMetrics metrics;
+    private final boolean cacheEnabled;
+    private final long ttlMillis;
+    private final ExpiringCache<String, UserDetails> cache;
+
+    public ReactiveUserDetailsServiceImpl(ReactiveUserRepository userRepository,
+                                          AuthMetrics metrics,
+                                          @Value("${auth.jwt.user-cache.enabled:true}") boolean cacheEnabled,
+                                          @Value("${auth.jwt.user-cache.ttl-seconds:60}") long ttlSeconds,
+                                          @Value("${auth.jwt.user-cache.max-entries:10000}") int maxEntries) {
+        this.userRepository = userRepository;
+        this.metrics = metrics;
+        this.cacheEnabled = cacheEnabled;
+        this.ttlMillis = ttlSeconds * 1000;
+        this.cache = new ExpiringCache<>(maxEntries, 0, userDetails -> 0);
+    }
+
+    @Override
+    public Mono<UserDetails> findByUsername(String username) {
+        if (!cacheEnabled) {
+            return loadForLogin(username);
+        }
+        UserDetails cached = cache.get(username);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return loadForLogin(username)
+                .doOnNext(userDetails -> cache.put(username, userDetails, System.currentTimeMillis() + ttlMillis));
+    }
+
+    /**
+     * Loads the user straight from the table, bypassing the cache.
+     */
+    public Mono<UserDetails> loadForLogin(String username) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start();
+            return userRepository.findByUsername(username)
+                    .doFinally(signal -> sample.stop(metrics.userLoad()));
+        }).map(CustomUserDetails::new);
+    }
+
+    /**
+     * Stores a re-hashed password after a successful login whose stored hash used outdated parameters.
+     */
+    @Override
+    public Mono<UserDetails> updatePassword(UserDetails userDetails, String newPassword) {
+        return userRepository.updatePassword(userDetails.getUsername(), newPassword)
+                .then(Mono.fromSupplier(() -> {
+                    CustomUserDetails customUserDetails = (CustomUserDetails) userDetails;
+                    customUserDetails.getUser().setPassword(newPassword);
+                    return customUserDetails;
+                }));
+    }
+
+    /**
+     * Drops the cached entry for a user whose data has changed.
+     */
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    public ExpiringCache.CacheStats stats() {
+        return cache.stats();
+    }
+}
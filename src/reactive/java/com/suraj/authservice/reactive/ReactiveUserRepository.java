@@ -0,0 +1,128 @@
+package com.suraj.authservice.reactive;
+
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * R2DBC access to the {@code users} table that the servlet application maps with JPA.
+ * <p>
+ * Rows are mapped by hand onto the {@link User} entity class so both deployments share one model;
+ * ids are {@code binary(16)} and timestamps UTC {@code datetime}, matching what Hibernate writes.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReactiveUserRepository {
+
+    static final String USER_COLUMNS =
+            "u.id, u.username, u.email, u.phone_number, u.password, u.role, u.created_at, u.updated_at";
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<User> findByUsername(String username) {
+        return databaseClient.sql("SELECT " + USER_COLUMNS + " FROM users u WHERE u.username = :username")
+                .bind("username", username)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+
+    /**
+     * Inserts a new user; the unique constraints on {@code users} reject duplicates.
+     */
+    public Mono<User> insert(User user) {
+        Instant now = Instant.now();
+        user.setId(UUID.randomUUID());
+        user.setCreatedAt(now);
+        user.setUpdatedAt(now);
+
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql(
+                        "INSERT INTO users (id, username, email, phone_number, password, role, created_at, updated_at) " +
+                        "VALUES (:id, :username, :email, :phoneNumber, :password, :role, :createdAt, :updatedAt)")
+                .bind("id", toBytes(user.getId()))
+                .bind("username", user.getUsername())
+                .bind("email", user.getEmail())
+                .bind("password", user.getPassword())
+                .bind("role", user.getRole().name())
+                .bind("createdAt", toDateTime(now))
+                .bind("updatedAt", toDateTime(now));
+        insert = user.getPhoneNumber() != null
+                ? insert.bind("phoneNumber", user.getPhoneNumber())
+                : insert.bindNull("phoneNumber", String.class);
+        return insert.then().thenReturn(user);
+    }
+
+    public Mono<Long> updateRole(String username, Role role) {
+        return databaseClient.sql("UPDATE users SET role = :role, updated_at = :updatedAt WHERE username = :username")
+                .bind("role", role.name())
+                .bind("updatedAt", toDateTime(Instant.now()))
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public Mono<Long> updatePassword(String username, String password) {
+        return databaseClient.sql("UPDATE users SET password = :password, updated_at = :updatedAt WHERE username = :username")
+                .bind("password", password)
+                .bind("updatedAt", toDateTime(Instant.now()))
+                .bind("username", username)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    /**
+     * Maps a row selected with {@link #USER_COLUMNS}.
+     */
+    static User toUser(Readable row) {
+        User user = new User();
+        user.setId(toUuid(row.get("id")));
+        user.setUsername(row.get("username", String.class));
+        user.setEmail(row.get("email", String.class));
+        user.setPhoneNumber(row.get("phone_number", String.class));
+        user.setPassword(row.get("password", String.class));
+        user.setRole(Role.valueOf(row.get("role", String.class)));
+        user.setCreatedAt(toInstant(row.get("created_at")));
+        user.setUpdatedAt(toInstant(row.get("updated_at")));
+        return user;
+    }
+
+    static byte[] toBytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    static UUID toUuid(Object value) {
+        if (value instanceof UUID uuid) {
+            return uuid;
+        }
+        ByteBuffer bytes = value instanceof ByteBuffer buffer ? buffer.duplicate() : ByteBuffer.wrap((byte[]) value);
+        return new UUID(bytes.getLong(), bytes.getLong());
+    }
+
+    static LocalDateTime toDateTime(Instant instant) {
+        return LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    // MySQL datetime columns come back as LocalDateTime, zoned timestamp columns (H2) as OffsetDateTime
+    static Instant toInstant(Object value) {
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toInstant(ZoneOffset.UTC);
+        }
+        if (value instanceof OffsetDateTime dateTime) {
+            return dateTime.toInstant();
+        }
+        return (Instant) value;
+    }
+}
@@ -0,0 +1,90 @@
+package com.suraj.authservice.audit;
+
+import com.suraj.authservice.entity.AuditAction;
+import com.suraj.authservice.entity.AuditEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+class AuditEventWriterTests {
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    private final JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void aRefusedEventIsRejectedWithoutHoldingUpTheRestOfItsBatch() throws Exception {
+        createTable();
+        CountDownLatch firstInsert = new CountDownLatch(1);
+        JdbcTemplate held = spy(jdbcTemplate);
+        // Holds the writer on the first event so the next two are queued up and written as one batch
+        doAnswer(invocation -> {
+            firstInsert.await();
+            return invocation.callRealMethod();
+        }).doCallRealMethod().when(held).batchUpdate(anyString(), anyList());
+        AuditEventWriter writer = writer(held);
+
+        writer.record(event("alice", "ROLE_USER"));
+        writer.recordAll(List.of(event("bob", "ROLE_USER".repeat(100)), event("carol", "ROLE_USER")));
+        firstInsert.countDown();
+        writer.shutdown();
+
+        assertThat(jdbcTemplate.queryForList("SELECT target FROM audit_events ORDER BY id", String.class))
+                .containsExactly("alice", "carol");
+        assertThat(writer.stats()).isEqualTo(new AuditEventWriter.AuditStats(0, 2, 0, 2, 1));
+    }
+
+    @Test
+    void aBatchThatFailsTransientlyIsRetriedWhole() throws Exception {
+        createTable();
+        JdbcTemplate flaky = spy(jdbcTemplate);
+        doThrow(new QueryTimeoutException("Lock wait timeout exceeded"))
+                .doCallRealMethod()
+                .when(flaky).batchUpdate(anyString(), anyList());
+        AuditEventWriter writer = writer(flaky);
+
+        writer.recordAll(List.of(event("alice", "ROLE_USER"), event("carol", "ROLE_USER")));
+        writer.shutdown();
+
+        assertThat(jdbcTemplate.queryForList("SELECT target FROM audit_events ORDER BY id", String.class))
+                .containsExactly("alice", "carol");
+        // One failed attempt however the two events were batched
+        assertThat(writer.stats()).isEqualTo(new AuditEventWriter.AuditStats(0, 2, 0, 1, 0));
+    }
+
+    private void createTable() {
+        jdbcTemplate.execute("CREATE TABLE audit_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "occurred_at TIMESTAMP NOT NULL, action VARCHAR(32) NOT NULL, actor VARCHAR(255) NOT NULL, " +
+                "target VARCHAR(255) NOT NULL, old_value VARCHAR(255), new_value VARCHAR(255), reason VARCHAR(500))");
+    }
+
+    private AuditEventWriter writer(JdbcTemplate jdbcTemplate) {
+        return new AuditEventWriter(jdbcTemplate, new DataSourceTransactionManager(database), 100, 10, 500);
+    }
+
+    private static AuditEvent event(String target, String newValue) {
+        return AuditEvent.of(AuditAction.ROLE_CHANGE, "admin", target, "ROLE_ADMIN", newValue, "test");
+    }
+}
@@ -0,0 +1,99 @@
+package com.suraj.authservice.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two embedded H2 databases, each of which names itself, and checks which one answered.
+ */
+class ReadWriteRoutingDataSourceTests {
+
+    private EmbeddedDatabase primary;
+    private EmbeddedDatabase replica;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replica = database("replica");
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replica));
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        primary.shutdown();
+        replica.shutdown();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(readOnly.<String>execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    void readWriteTransactionsGoToThePrimary() {
+        assertThat(readWrite.<String>execute(status -> currentDatabase())).isEqualTo("primary");
+    }
+
+    @Test
+    void accessOutsideTransactionsGoesToThePrimary() {
+        assertThat(currentDatabase()).isEqualTo("primary");
+    }
+
+    @Test
+    void forcedPrimaryOverridesReadOnlyTransactions() {
+        try (DataSourceRouting.Scope scope = DataSourceRouting.forcePrimary()) {
+            assertThat(readOnly.<String>execute(status -> currentDatabase())).isEqualTo("primary");
+        }
+        assertThat(readOnly.<String>execute(status -> currentDatabase())).isEqualTo("replica");
+    }
+
+    @Test
+    void readYourWritesWindowPinsOnlyTheWritingUserToThePrimary() {
+        ReadYourWritesWindow window = new ReadYourWritesWindow(true, 60, 100);
+        window.recordWrite("Alice");
+
+        try (DataSourceRouting.Scope scope = window.scopeFor("alice")) {
+            assertThat(readOnly.<String>execute(status -> currentDatabase())).isEqualTo("primary");
+        }
+        try (DataSourceRouting.Scope scope = window.scopeFor("bob")) {
+            assertThat(readOnly.<String>execute(status -> currentDatabase())).isEqualTo("replica");
+        }
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("SELECT name FROM database_role", String.class);
+    }
+
+    private static EmbeddedDatabase database(String name) {
+        EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+                .setType(EmbeddedDatabaseType.H2)
+                .generateUniqueName(true)
+                .build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(database);
+        jdbcTemplate.execute("CREATE TABLE database_role (name VARCHAR(16))");
+        jdbcTemplate.update("INSERT INTO database_role (name) VALUES (?)", name);
+        return database;
+    }
+}
@@ -0,0 +1,153 @@
+package com.suraj.authservice.datasource;
+
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.metrics.AuthMetrics;
+import com.suraj.authservice.repository.UserRepository;
+import com.suraj.authservice.security.CustomUserDetails;
+import com.suraj.authservice.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing as production wires it: Hibernate and {@code JpaTransactionManager} over a
+ * {@link LazyConnectionDataSourceProxy}. The replica is a copy of the primary in which alice is an admin,
+ * so the role read through {@link CustomUserDetailsService#loadAuthPrincipal} tells which database answered.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({CustomUserDetailsService.class, ReadWriteRoutingJpaTests.RoutingConfig.class})
+class ReadWriteRoutingJpaTests {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Autowired
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    @BeforeEach
+    void setUp() {
+        primary = new JdbcTemplate(routingDataSource.getResolvedDefaultDataSource());
+        replica = new JdbcTemplate(routingDataSource.getResolvedDataSources().get("replica-1"));
+
+        // Written through JPA, so it lands on the primary, where Hibernate created the schema
+        userRepository.deleteAllInBatch();
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.ROLE_USER);
+        user.setCreatedAt(Instant.now());
+        userRepository.save(user);
+
+        replica.execute("DROP ALL OBJECTS");
+        primary.queryForList("SCRIPT", String.class).forEach(replica::execute);
+        replica.update("UPDATE users SET role = ? WHERE username = ?", Role.ROLE_ADMIN.name(), "alice");
+    }
+
+    @Test
+    void readOnlyTransactionsReadFromTheReplica() {
+        assertThat(userDetailsService.loadAuthPrincipal("alice").role()).isEqualTo(Role.ROLE_ADMIN);
+    }
+
+    @Test
+    void readOnlyMethodsJoinAnEnclosingReadWriteTransactionOnThePrimary() {
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        assertThat(readWrite.<Role>execute(status -> userDetailsService.loadAuthPrincipal("alice").role()))
+                .isEqualTo(Role.ROLE_USER);
+    }
+
+    @Test
+    void forcedPrimaryOverridesReadOnlyTransactions() {
+        try (DataSourceRouting.Scope scope = DataSourceRouting.forcePrimary()) {
+            assertThat(userDetailsService.loadAuthPrincipal("alice").role()).isEqualTo(Role.ROLE_USER);
+        }
+    }
+
+    @Test
+    void readYourWritesWindowReadsTheWritersOwnRowsFromThePrimary() {
+        CustomUserDetails userDetails = new CustomUserDetails(userRepository.findByUsername("alice").orElseThrow());
+
+        userDetailsService.updatePassword(userDetails, "rehashed");
+
+        assertThat(primary.queryForObject("SELECT password FROM users WHERE username = 'alice'", String.class))
+                .isEqualTo("rehashed");
+        assertThat(replica.queryForObject("SELECT password FROM users WHERE username = 'alice'", String.class))
+                .isEqualTo("hash");
+        try (DataSourceRouting.Scope scope = readYourWritesWindow.scopeFor("alice")) {
+            assertThat(userDetailsService.loadAuthPrincipal("alice").role()).isEqualTo(Role.ROLE_USER);
+        }
+    }
+
+    @TestConfiguration
+    static class RoutingConfig {
+
+        @Bean
+        ReadWriteRoutingDataSource readWriteRoutingDataSource() {
+            return new ReadWriteRoutingDataSource(database(), List.of(database()));
+        }
+
+        @Bean
+        @Primary
+        DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+            return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+        }
+
+        @Bean
+        ReadYourWritesWindow readYourWritesWindow() {
+            return new ReadYourWritesWindow(true, 60, 100);
+        }
+
+        @Bean
+        AuthMetrics authMetrics() {
+            return new AuthMetrics(new SimpleMeterRegistry());
+        }
+
+        private static DataSource database() {
+            return new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .build();
+        }
+    }
+}
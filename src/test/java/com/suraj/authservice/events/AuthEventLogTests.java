@@ -0,0 +1,52 @@
+package com.suraj.authservice.events;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthEventLogTests {
+
+    @Test
+    void eventsAreDroppedAndCountedOnceTheBufferIsFull() throws Exception {
+        AuthEventLog eventLog = new AuthEventLog(true, 4, 1.0, 1.0, 1.0, 1.0, 1.0);
+        // Stops the writer, so nothing frees the buffer
+        eventLog.shutdown();
+
+        for (int i = 0; i < 10; i++) {
+            eventLog.publish(AuthEventType.LOGIN_FAILURE, "alice", "203.0.113.7", "reason", "bad_credentials");
+        }
+
+        assertThat(eventLog.stats(AuthEventType.LOGIN_FAILURE))
+                .isEqualTo(new AuthEventLog.EventStats(4, 0, 6));
+        assertThat(eventLog.queueDepth()).isEqualTo(4);
+    }
+
+    @Test
+    void sampledOutEventsNeverReachTheBuffer() throws Exception {
+        AuthEventLog eventLog = new AuthEventLog(true, 4, 1.0, 1.0, 0.0, 1.0, 1.0);
+        eventLog.shutdown();
+
+        for (int i = 0; i < 10; i++) {
+            eventLog.publish(AuthEventType.TOKEN_REJECTED, null, "203.0.113.7", "failure", "expired");
+        }
+        eventLog.publish(AuthEventType.LOGOUT, "alice", "203.0.113.7");
+
+        assertThat(eventLog.stats(AuthEventType.TOKEN_REJECTED))
+                .isEqualTo(new AuthEventLog.EventStats(0, 10, 0));
+        assertThat(eventLog.stats(AuthEventType.LOGOUT))
+                .isEqualTo(new AuthEventLog.EventStats(1, 0, 0));
+    }
+
+    @Test
+    void theWriterDrainsBufferedEventsOnShutdown() throws Exception {
+        AuthEventLog eventLog = new AuthEventLog(true, 1024, 1.0, 1.0, 1.0, 1.0, 1.0);
+        for (int i = 0; i < 100; i++) {
+            eventLog.publish(AuthEventType.LOGIN_SUCCESS, "alice", "203.0.113.7");
+        }
+
+        eventLog.shutdown();
+
+        assertThat(eventLog.queueDepth()).isZero();
+        assertThat(eventLog.stats(AuthEventType.LOGIN_SUCCESS).published()).isEqualTo(100);
+    }
+}
@@ -0,0 +1,120 @@
+package com.suraj.authservice.events;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class MpscRingBufferTests {
+
+    @Test
+    void capacityIsRoundedUpToAPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpscRingBuffer<>(8).capacity()).isEqualTo(8);
+        assertThatIllegalArgumentException().isThrownBy(() -> new MpscRingBuffer<>(0));
+    }
+
+    @Test
+    void offersFailOnceFullAndSucceedAgainAfterAPoll() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.size()).isEqualTo(4);
+
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+    }
+
+    @Test
+    void keepsFifoOrderAcrossManyLaps() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+        int next = 0;
+        int expected = 0;
+
+        // Uneven batches so the head and tail cross the end of the array at different slots
+        for (int lap = 0; lap < 100; lap++) {
+            for (int i = 0; i < 1 + lap % 4; i++) {
+                assertThat(buffer.offer(next++)).isTrue();
+            }
+            Integer element;
+            while ((element = buffer.poll()) != null) {
+                assertThat(element).isEqualTo(expected++);
+            }
+            assertThat(buffer.size()).isZero();
+        }
+
+        assertThat(expected).isEqualTo(next);
+    }
+
+    @Test
+    void pollReturnsNullWhenEmpty() {
+        MpscRingBuffer<String> buffer = new MpscRingBuffer<>(2);
+
+        assertThat(buffer.poll()).isNull();
+        buffer.offer("a");
+        assertThat(buffer.poll()).isEqualTo("a");
+        assertThat(buffer.poll()).isNull();
+    }
+
+    @Test
+    @Timeout(30)
+    void concurrentProducersLoseNothingAndKeepTheirOwnOrder() throws Exception {
+        int producers = 4;
+        int perProducer = 100_000;
+        MpscRingBuffer<long[]> buffer = new MpscRingBuffer<>(64);
+        CountDownLatch start = new CountDownLatch(1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            long producer = p;
+            Thread thread = new Thread(() -> {
+                awaitQuietly(start);
+                for (long i = 0; i < perProducer; i++) {
+                    // A small buffer is full most of the time; yield so the consumer runs even on one core
+                    while (!buffer.offer(new long[]{producer, i})) {
+                        Thread.yield();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+
+        long[] nextExpected = new long[producers];
+        int received = 0;
+        while (received < producers * perProducer) {
+            long[] element = buffer.poll();
+            if (element == null) {
+                Thread.yield();
+                continue;
+            }
+            assertThat(element[1]).isEqualTo(nextExpected[(int) element[0]]++);
+            received++;
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertThat(nextExpected).containsOnly(perProducer);
+        assertThat(buffer.poll()).isNull();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.suraj.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthFailureLogTests {
+
+    @Test
+    void cleanReasonsAreKeptAsTheyAre() {
+        String reason = "Unknown signing key: primary";
+
+        assertThat(AuthFailureLog.sanitize(reason)).isSameAs(reason);
+        assertThat(AuthFailureLog.sanitize(null)).isNull();
+    }
+
+    @Test
+    void controlCharactersCannotStartANewLogLine() {
+        assertThat(AuthFailureLog.sanitize("Unknown signing key: x\r\n2024-01-01 INFO forged\tline\u2028"))
+                .isEqualTo("Unknown signing key: x??2024-01-01 INFO forged?line?");
+    }
+
+    @Test
+    void longReasonsAreTruncated() {
+        String sanitized = AuthFailureLog.sanitize("Unknown signing key: " + "k".repeat(10_000));
+
+        assertThat(sanitized).hasSize(AuthFailureLog.MAX_REASON_LENGTH + 3).endsWith("k...");
+    }
+}
@@ -0,0 +1,122 @@
+package com.suraj.authservice.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.AlgorithmMismatchException;
+import com.auth0.jwt.exceptions.IncorrectClaimException;
+import com.auth0.jwt.exceptions.JWTDecodeException;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.suraj.authservice.metrics.AuthMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Signature first, claims second: how a rejected token is classified must not depend on unverified claims.
+ */
+class JWTServiceTests {
+
+    private static final String SECRET = "test-secret-key-of-reasonable-length";
+
+    private final JWTService jwtService = jwtService();
+
+    @Test
+    void acceptsAGenuineToken() {
+        DecodedJWT decodedJWT = jwtService.validateToken(token(Algorithm.HMAC256(SECRET), "test", 600));
+
+        assertThat(decodedJWT.getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void forgedTokensAreRejectedForTheirSignatureEvenWhenExpired() {
+        Algorithm forger = Algorithm.HMAC256("some-other-secret-of-reasonable-length");
+
+        assertThatThrownBy(() -> jwtService.validateToken(token(forger, "test", -600)))
+                .isInstanceOf(SignatureVerificationException.class);
+        assertThatThrownBy(() -> jwtService.validateToken(token(forger, "test", 600)))
+                .isInstanceOf(SignatureVerificationException.class);
+        assertThat(AuthMetrics.failureType(rejection(token(forger, "test", -600))))
+                .isEqualTo(AuthMetrics.FAILURE_INVALID_SIGNATURE);
+    }
+
+    @Test
+    void tamperedPayloadsAreRejected() {
+        String[] genuine = token(Algorithm.HMAC256(SECRET), "test", -600).split("\\.");
+        String extended = JWT.decode(token(Algorithm.HMAC256(SECRET), "test", 600)).getPayload();
+
+        assertThatThrownBy(() -> jwtService.validateToken(genuine[0] + "." + extended + "." + genuine[2]))
+                .isInstanceOf(SignatureVerificationException.class);
+        assertThatThrownBy(() -> jwtService.validateToken(genuine[0] + "." + genuine[1] + ".not+base64"))
+                .isInstanceOf(SignatureVerificationException.class);
+    }
+
+    @Test
+    void claimsAreCheckedOnceTheSignatureHolds() {
+        Algorithm algorithm = Algorithm.HMAC256(SECRET);
+
+        assertThatThrownBy(() -> jwtService.validateToken(token(algorithm, "test", -600)))
+                .isInstanceOf(TokenExpiredException.class);
+        assertThatThrownBy(() -> jwtService.validateToken(token(algorithm, "someone-else", 600)))
+                .isInstanceOf(IncorrectClaimException.class);
+    }
+
+    @Test
+    void tokensSignedWithAnotherAlgorithmAreRejected() {
+        String unsigned = JWT.create()
+                .withKeyId("primary")
+                .withIssuer("test")
+                .withSubject("alice")
+                .sign(Algorithm.none());
+
+        assertThatThrownBy(() -> jwtService.validateToken(unsigned))
+                .isInstanceOf(AlgorithmMismatchException.class);
+    }
+
+    @Test
+    void malformedTokensAreRejectedAsSuch() {
+        assertThatThrownBy(() -> jwtService.validateToken("not-a-token"))
+                .isInstanceOf(JWTDecodeException.class);
+        assertThatThrownBy(() -> jwtService.validateToken("a.b.c.d"))
+                .isInstanceOf(JWTDecodeException.class);
+        assertThatThrownBy(() -> jwtService.validateToken("%%%.e30.c2ln"))
+                .isInstanceOf(JWTDecodeException.class);
+    }
+
+    private static String token(Algorithm algorithm, String issuer, long expiresInSeconds) {
+        Instant now = Instant.now();
+        return JWT.create()
+                .withKeyId("primary")
+                .withIssuer(issuer)
+                .withSubject("alice")
+                .withIssuedAt(now.minusSeconds(900))
+                .withExpiresAt(now.plusSeconds(expiresInSeconds))
+                .sign(algorithm);
+    }
+
+    private JWTVerificationException rejection(String token) {
+        try {
+            jwtService.validateToken(token);
+        } catch (JWTVerificationException e) {
+            return e;
+        }
+        throw new AssertionError("Token was accepted");
+    }
+
+    private static JWTService jwtService() {
+        JwtKeyRing keyRing = new JwtKeyRing("HS256", SECRET, "", "", "primary", 900, "",
+                new ObjectMapper().findAndRegisterModules());
+        JWTService jwtService = new JWTService(keyRing, new AuthMetrics(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "expirationSeconds", 900L);
+        ReflectionTestUtils.setField(jwtService, "issuer", "test");
+        return jwtService;
+    }
+}
@@ -0,0 +1,113 @@
+package com.suraj.authservice.security;
+
+import com.auth0.jwt.JWT;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatNoException;
+
+/**
+ * Persistence of rotated keys in {@code jwt.key-store-file}, and retirement of keys from the JWKS.
+ */
+class JwtKeyRingTests {
+
+    private static final String SECRET = "test-secret-key-of-reasonable-length";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rotatedKeysSurviveARestart() {
+        Path file = directory.resolve("signing-keys.json");
+        JwtKeyRing keyRing = keyRing("HS256", file);
+        keyRing.rotate("2024-06", null, true);
+        String token = sign(keyRing);
+
+        JwtKeyRing restarted = keyRing("HS256", file);
+
+        assertThat(restarted.activeKey().keyId()).isEqualTo("2024-06");
+        assertThatNoException().isThrownBy(() -> restarted.keyFor("2024-06").verifySignature(token, "HS256"));
+        String configured = sign(keyRing("HS256", null));
+        assertThatNoException().isThrownBy(() -> restarted.keyFor("primary").verifySignature(configured, "HS256"));
+    }
+
+    @Test
+    void generatedKeyPairsSurviveARestart() {
+        Path file = directory.resolve("signing-keys.json");
+        JwtKeyRing keyRing = keyRing("ES256", file);
+        String initial = sign(keyRing);
+        keyRing.rotate("2024-06", null, true);
+        String rotated = sign(keyRing);
+
+        JwtKeyRing restarted = keyRing("ES256", file);
+
+        assertThatNoException().isThrownBy(() -> restarted.keyFor("primary").verifySignature(initial, "ES256"));
+        assertThatNoException().isThrownBy(() -> restarted.keyFor("2024-06").verifySignature(rotated, "ES256"));
+    }
+
+    @Test
+    void otherInstancesPickUpRotationsOnReload() throws Exception {
+        Path file = directory.resolve("signing-keys.json");
+        JwtKeyRing first = keyRing("RS256", file);
+        JwtKeyRing second = keyRing("RS256", file);
+
+        // Changes are detected by modification time, which may have millisecond granularity
+        Thread.sleep(5);
+        first.rotate("2024-06", null, false);
+        first.rotate("2024-06", null, true);
+        second.reloadKeyStore();
+
+        assertThat(second.activeKey().keyId()).isEqualTo("2024-06");
+        assertThatNoException().isThrownBy(() -> second.keyFor("2024-06").verifySignature(sign(first), "RS256"));
+    }
+
+    @Test
+    void rotationsOnTwoInstancesKeepEachOthersKeys() {
+        Path file = directory.resolve("signing-keys.json");
+        JwtKeyRing first = keyRing("HS256", file);
+        JwtKeyRing second = keyRing("HS256", file);
+
+        // Back to back, before any reload: the second rotation re-reads the store under the lock
+        first.rotate("first", null, false);
+        second.rotate("second", null, false);
+
+        JwtKeyRing restarted = keyRing("HS256", file);
+        assertThatNoException().isThrownBy(() -> restarted.keyFor("first"));
+        assertThatNoException().isThrownBy(() -> restarted.keyFor("second"));
+        assertThat(directory.toFile().list()).containsExactlyInAnyOrder("signing-keys.json", "signing-keys.json.lock");
+    }
+
+    @Test
+    void retiredKeysLeaveTheJsonWebKeySetWithoutAnotherRotation() throws Exception {
+        JwtKeyRing keyRing = keyRing("ES256", null, 0);
+        keyRing.rotate("2024-06", null, true);
+        Thread.sleep(5);
+
+        String jwks = new String(keyRing.jsonWebKeySet().json(), StandardCharsets.UTF_8);
+
+        assertThat(jwks).contains("\"kid\":\"2024-06\"").doesNotContain("\"kid\":\"primary\"");
+    }
+
+    private static JwtKeyRing keyRing(String algorithm, Path file) {
+        return keyRing(algorithm, file, 900);
+    }
+
+    private static JwtKeyRing keyRing(String algorithm, Path file, long expirationSeconds) {
+        return new JwtKeyRing(algorithm, SECRET, "", "", "primary", expirationSeconds,
+                file != null ? file.toString() : "", new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static String sign(JwtKeyRing keyRing) {
+        JwtKeyRing.SigningKey key = keyRing.activeKey();
+        return JWT.create()
+                .withIssuer("test")
+                .withKeyId(key.keyId())
+                .withSubject("alice")
+                .sign(key.algorithm());
+    }
+}
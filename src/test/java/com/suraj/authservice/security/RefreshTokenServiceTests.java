@@ -0,0 +1,113 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.entity.RefreshToken;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.entity.User;
+import com.suraj.authservice.exception.AuthenticationFailedException;
+import com.suraj.authservice.repository.RefreshTokenRepository;
+import com.suraj.authservice.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs outside a test transaction, so every service call commits or rolls back as it would in production.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        refreshTokenRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+        User user = new User();
+        user.setUsername("alice");
+        user.setEmail("alice@example.com");
+        user.setPassword("hash");
+        user.setRole(Role.ROLE_USER);
+        user.setCreatedAt(Instant.now());
+        alice = userRepository.save(user);
+    }
+
+    @Test
+    void rotationReplacesTheTokenWithTheNextOneInItsFamily() {
+        String issued = refreshTokenService.issue(alice);
+
+        RefreshTokenService.RotatedToken rotated = refreshTokenService.rotate(issued);
+
+        assertThat(rotated.refreshToken()).isNotEqualTo(issued);
+        assertThat(rotated.user().getUsername()).isEqualTo("alice");
+        assertThat(refreshTokenService.rotate(rotated.refreshToken()).refreshToken())
+                .isNotEqualTo(rotated.refreshToken());
+        assertThat(refreshTokenRepository.findAll())
+                .hasSize(3)
+                .extracting(RefreshToken::getFamilyId)
+                .containsOnly(refreshTokenRepository.findAll().get(0).getFamilyId());
+    }
+
+    @Test
+    void reusingATokenFailsAndRevokesTheWholeFamily() {
+        String issued = refreshTokenService.issue(alice);
+        String next = refreshTokenService.rotate(issued).refreshToken();
+        String otherLogin = refreshTokenService.issue(alice);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessage("Refresh token has already been used");
+
+        // The revocation was committed although the call that made it failed
+        assertThatThrownBy(() -> refreshTokenService.rotate(next))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessage("Refresh token has been revoked");
+        assertThat(refreshTokenRepository.findAll())
+                .filteredOn(RefreshToken::isRevoked)
+                .hasSize(2);
+        assertThat(refreshTokenService.rotate(otherLogin).refreshToken()).isNotNull();
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        String issued = refreshTokenService.issue(alice);
+        RefreshToken stored = refreshTokenRepository.findAll().get(0);
+        stored.setExpiresAt(Instant.now().minusSeconds(1));
+        refreshTokenRepository.save(stored);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(issued))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessage("Refresh token has expired");
+        assertThat(refreshTokenRepository.findAll().get(0).getUsedAt()).isNull();
+    }
+
+    @Test
+    void unknownTokensAreRejected() {
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token"))
+                .isInstanceOf(AuthenticationFailedException.class)
+                .hasMessage("Invalid refresh token");
+    }
+}
@@ -0,0 +1,69 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.exception.PasswordHashingOverloadedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RehashingAuthenticationProviderTests {
+
+    private final UserDetailsService userDetailsService = mock(UserDetailsService.class);
+    private final UserDetailsPasswordService passwordService = mock(UserDetailsPasswordService.class);
+    private final PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+    private final RehashingAuthenticationProvider provider = new RehashingAuthenticationProvider();
+
+    @BeforeEach
+    void setUp() {
+        provider.setUserDetailsService(userDetailsService);
+        provider.setUserDetailsPasswordService(passwordService);
+        provider.setPasswordEncoder(passwordEncoder);
+
+        when(userDetailsService.loadUserByUsername("alice"))
+                .thenReturn(User.withUsername("alice").password("old-hash").roles("USER").build());
+        when(passwordEncoder.matches("secret", "old-hash")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("old-hash")).thenReturn(true);
+    }
+
+    @Test
+    void rehashesTheStoredPasswordAfterASuccessfulLogin() {
+        when(passwordEncoder.encode("secret")).thenReturn("new-hash");
+        when(passwordService.updatePassword(any(), eq("new-hash")))
+                .thenAnswer(invocation -> User.withUserDetails(invocation.getArgument(0)).password("new-hash").build());
+
+        Authentication result = provider.authenticate(login());
+
+        assertThat(result.isAuthenticated()).isTrue();
+        verify(passwordService).updatePassword(any(), eq("new-hash"));
+    }
+
+    @Test
+    void keepsTheOldHashWhenHashingIsOverloaded() {
+        when(passwordEncoder.encode("secret"))
+                .thenThrow(new PasswordHashingOverloadedException("Password hashing capacity exceeded", 1));
+
+        Authentication result = provider.authenticate(login());
+
+        assertThat(result.isAuthenticated()).isTrue();
+        assertThat(result.getName()).isEqualTo("alice");
+        assertThat(result.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_USER");
+        verify(passwordService, never()).updatePassword(any(), anyString());
+    }
+
+    private static UsernamePasswordAuthenticationToken login() {
+        return UsernamePasswordAuthenticationToken.unauthenticated("alice", "secret");
+    }
+}
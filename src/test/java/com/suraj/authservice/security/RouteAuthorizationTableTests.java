@@ -0,0 +1,179 @@
+package com.suraj.authservice.security;
+
+import com.suraj.authservice.config.RouteAuthorizationConfig;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.security.RouteAuthorizationTable.Access;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RouteAuthorizationTableTests {
+
+    private static final RouteAuthorizationTable ROUTES = new RouteAuthorizationConfig().routeAuthorizationTable();
+
+    @Test
+    void literalBeatsSingleWildcardBeatsDoubleWildcard() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .permitAll("/api/**")
+                .authenticated("/api/*")
+                .atLeast(Role.ROLE_ADMIN, "/api/admin")
+                .build();
+
+        assertThat(table.ruleFor("/api/admin").access()).isEqualTo(Access.MIN_ROLE);
+        assertThat(table.ruleFor("/api/users").access()).isEqualTo(Access.AUTHENTICATED);
+        assertThat(table.ruleFor("/api/users/42").access()).isEqualTo(Access.PERMIT_ALL);
+        assertThat(table.ruleFor("/api").access()).isEqualTo(Access.PERMIT_ALL);
+    }
+
+    @Test
+    void declarationOrderDoesNotMatter() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .atLeast(Role.ROLE_ADMIN, "/api/admin")
+                .authenticated("/api/*")
+                .permitAll("/api/**")
+                .build();
+
+        assertThat(table.ruleFor("/api/admin").access()).isEqualTo(Access.MIN_ROLE);
+        assertThat(table.ruleFor("/api/users").access()).isEqualTo(Access.AUTHENTICATED);
+        assertThat(table.ruleFor("/api/users/42").access()).isEqualTo(Access.PERMIT_ALL);
+    }
+
+    @Test
+    void fallsBackToAWildcardWhenTheLiteralBranchHasNoMatch() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .atLeast(Role.ROLE_ADMIN, "/api/admin/keys")
+                .permitAll("/api/*/docs")
+                .build();
+
+        assertThat(table.ruleFor("/api/admin/docs").access()).isEqualTo(Access.PERMIT_ALL);
+        assertThat(table.ruleFor("/api/admin/keys").access()).isEqualTo(Access.MIN_ROLE);
+    }
+
+    @Test
+    void trailingSlashesAndEmptySegmentsAreIgnored() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .atLeast(Role.ROLE_ADMIN, "/api/admin/")
+                .build();
+
+        assertThat(table.ruleFor("/api/admin").access()).isEqualTo(Access.MIN_ROLE);
+        assertThat(table.ruleFor("/api/admin/").access()).isEqualTo(Access.MIN_ROLE);
+        assertThat(table.ruleFor("/api//admin").access()).isEqualTo(Access.MIN_ROLE);
+        assertThat(table.ruleFor("//api/admin//").access()).isEqualTo(Access.MIN_ROLE);
+    }
+
+    @Test
+    void unmatchedPathsRequireAuthentication() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .permitAll("/public/**")
+                .build();
+
+        assertThat(table.ruleFor("/private").access()).isEqualTo(Access.AUTHENTICATED);
+        assertThat(table.ruleFor("/").access()).isEqualTo(Access.AUTHENTICATED);
+        assertThat(table.ruleFor("/publicity").access()).isEqualTo(Access.AUTHENTICATED);
+    }
+
+    @Test
+    void conflictingRulesForOnePatternFail() {
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteAuthorizationTable.builder()
+                .permitAll("/api/users")
+                .authenticated("/api/users"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteAuthorizationTable.builder()
+                .atLeast(Role.ROLE_ADMIN, "/api/**")
+                .atLeast(Role.ROLE_USER, "/api/**"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteAuthorizationTable.builder()
+                .permitAll("/api/users")
+                .authenticated("/api/users/"));
+    }
+
+    @Test
+    void repeatingTheSameRuleIsAllowed() {
+        RouteAuthorizationTable table = RouteAuthorizationTable.builder()
+                .permitAll("/api/users", "/api/users/")
+                .build();
+
+        assertThat(table.ruleFor("/api/users").access()).isEqualTo(Access.PERMIT_ALL);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"api/users", "/api/**/users", "/api/{id}", "/api/user*"})
+    void unsupportedPatternsFail(String pattern) {
+        assertThatIllegalArgumentException().isThrownBy(() -> RouteAuthorizationTable.builder().permitAll(pattern));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/auth/login",
+            "/api/v1/auth/refresh",
+            "/.well-known/jwks.json",
+            "/actuator/health",
+            "/actuator/prometheus",
+            "/v3/api-docs",
+            "/v3/api-docs/swagger-config",
+            "/v3/api-docs.yaml",
+            "/swagger-ui/index.html",
+            "/swagger-ui.html",
+            "/swagger-resources/configuration/ui",
+            "/webjars/swagger-ui/index.css"
+    })
+    void whitelistedRoutesArePublic(String path) {
+        assertThat(ROUTES.isPublic(request(path))).isTrue();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "/api/v1/admin/users",
+            "/api/v1/welcome/user",
+            "/api/v1/welcome/admin",
+            "/api/v1/authx",
+            "/actuator/env",
+            "/"
+    })
+    void otherRoutesAreNotPublic(String path) {
+        assertThat(ROUTES.isPublic(request(path))).isFalse();
+    }
+
+    @Test
+    void roleTiersAdmitEveryRoleAbove() {
+        assertThat(decide("/api/v1/welcome/manager", user(Role.ROLE_MANAGER))).isTrue();
+        assertThat(decide("/api/v1/welcome/manager", user(Role.ROLE_ADMIN))).isTrue();
+        assertThat(decide("/api/v1/welcome/manager", user(Role.ROLE_SUPERVISOR))).isFalse();
+        assertThat(decide("/api/v1/admin/users/alice/role", user(Role.ROLE_MANAGER))).isFalse();
+        assertThat(decide("/api/v1/admin/users/alice/role", user(Role.ROLE_ADMIN))).isTrue();
+    }
+
+    @Test
+    void authenticatedRoutesRejectAnonymousRequests() {
+        Authentication anonymous = new AnonymousAuthenticationToken("key", "anonymousUser",
+                AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertThat(decide("/api/v1/welcome/user", anonymous)).isFalse();
+        assertThat(decide("/api/v1/welcome/user", null)).isFalse();
+        assertThat(decide("/api/v1/welcome/user", user(Role.ROLE_USER))).isTrue();
+        assertThat(decide("/api/v1/auth/login", null)).isTrue();
+    }
+
+    private static boolean decide(String path, Authentication authentication) {
+        return ROUTES.check(() -> authentication, new RequestAuthorizationContext(request(path))).isGranted();
+    }
+
+    private static Authentication user(Role role) {
+        return UsernamePasswordAuthenticationToken.authenticated("user", null, List.of(RoleAuthority.of(role)));
+    }
+
+    private static MockHttpServletRequest request(String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", path);
+        request.setServletPath(path);
+        return request;
+    }
+}
@@ -0,0 +1,115 @@
+package com.suraj.authservice.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    // Starts away from zero, as System.nanoTime() may
+    private final AtomicLong clock = new AtomicLong(-42 * SECOND);
+
+    @Test
+    void allowsABurstOfCapacityThenWaitsOneRefillInterval() {
+        TokenBucketLimiter limiter = limiter(5, 60, 100);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(12 * SECOND);
+
+        clock.addAndGet(5 * SECOND);
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(7 * SECOND);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        TokenBucketLimiter limiter = limiter(5, 60, 100);
+        exhaust(limiter, "alice");
+
+        clock.addAndGet(12 * SECOND);
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isEqualTo(12 * SECOND);
+
+        // Never more than capacity, however long the bucket was idle
+        clock.addAndGet(600 * SECOND);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("alice")).isZero();
+        }
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        TokenBucketLimiter limiter = limiter(1, 60, 100);
+
+        assertThat(limiter.tryAcquire("alice")).isZero();
+        assertThat(limiter.tryAcquire("bob")).isZero();
+        assertThat(limiter.tryAcquire("alice")).isPositive();
+    }
+
+    @Test
+    void evictIdleDropsOnlyRefilledBuckets() {
+        TokenBucketLimiter limiter = limiter(5, 60, 100);
+        limiter.tryAcquire("alice");
+        clock.addAndGet(6 * SECOND);
+        limiter.tryAcquire("bob");
+
+        clock.addAndGet(6 * SECOND);
+        limiter.evictIdle();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void newKeysBeyondMaxKeysNeverResetLiveBuckets() {
+        TokenBucketLimiter limiter = limiter(5, 60, 2);
+        exhaust(limiter, "victim");
+        limiter.tryAcquire("other");
+
+        // A flood of fresh keys shares one overflow bucket and leaves the victim's bucket alone
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("attacker-" + i);
+        }
+
+        assertThat(limiter.size()).isEqualTo(2);
+        assertThat(limiter.tryAcquire("victim")).isPositive();
+        assertThat(limiter.tryAcquire("attacker-new")).isPositive();
+    }
+
+    @Test
+    void newKeysGetTheirOwnBucketOnceRefilledBucketsAreSwept() {
+        TokenBucketLimiter limiter = limiter(5, 60, 2);
+        limiter.tryAcquire("alice");
+        limiter.tryAcquire("bob");
+
+        clock.addAndGet(60 * SECOND);
+        assertThat(limiter.tryAcquire("carol")).isZero();
+
+        assertThat(limiter.size()).isEqualTo(1);
+    }
+
+    @Test
+    void retryAfterIsRoundedUpToWholeSeconds() {
+        assertThat(AuthRateLimiter.retryAfterSeconds(1)).isEqualTo(1);
+        assertThat(AuthRateLimiter.retryAfterSeconds(SECOND)).isEqualTo(1);
+        assertThat(AuthRateLimiter.retryAfterSeconds(SECOND + 1)).isEqualTo(2);
+        assertThat(AuthRateLimiter.retryAfterSeconds(12 * SECOND)).isEqualTo(12);
+    }
+
+    private TokenBucketLimiter limiter(int capacity, long refillSeconds, int maxKeys) {
+        return new TokenBucketLimiter(capacity, Duration.ofSeconds(refillSeconds), maxKeys, clock::get);
+    }
+
+    private static void exhaust(TokenBucketLimiter limiter, String key) {
+        while (limiter.tryAcquire(key) == 0) {
+            // take every token
+        }
+    }
+}
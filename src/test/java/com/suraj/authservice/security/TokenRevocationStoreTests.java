@@ -0,0 +1,72 @@
+package com.suraj.authservice.security;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TokenRevocationStoreTests {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void malformedLinesAreSkippedAndCompactedAway() throws Exception {
+        Path file = directory.resolve("revoked-tokens.log");
+        long expiresAt = Instant.now().plusSeconds(600).getEpochSecond();
+        Files.writeString(file, expiresAt + " revoked-1\n" +
+                "not-a-number revoked-2\n" +
+                expiresAt + " revoked-3\n" +
+                "17", StandardCharsets.UTF_8);
+
+        TokenRevocationStore store = new TokenRevocationStore(file.toString(), 1000, 0.001);
+        store.load();
+        store.close();
+
+        assertThat(store.isRevoked("revoked-1")).isTrue();
+        assertThat(store.isRevoked("revoked-2")).isFalse();
+        assertThat(store.isRevoked("revoked-3")).isTrue();
+        assertThat(Files.readAllLines(file)).containsExactlyInAnyOrder(
+                expiresAt + " revoked-1", expiresAt + " revoked-3");
+    }
+
+    @Test
+    void revocationsAreStillAppendedAfterAFailedCompaction() throws Exception {
+        Path file = directory.resolve("revoked-tokens.log");
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        TokenRevocationStore store = new TokenRevocationStore(file.toString(), 1000, 0.001);
+        store.load();
+        store.revoke("revoked-1", expiresAt);
+
+        // A directory where the compacted file would be written makes the rewrite fail
+        Files.createDirectories(directory.resolve("revoked-tokens.log.tmp").resolve("blocker"));
+        assertThatThrownBy(store::load).isInstanceOf(UncheckedIOException.class);
+        store.revoke("revoked-2", expiresAt);
+        store.close();
+
+        assertThat(Files.readAllLines(file)).containsExactly(
+                expiresAt.getEpochSecond() + " revoked-1", expiresAt.getEpochSecond() + " revoked-2");
+    }
+
+    @Test
+    void theBloomFilterNeverMissesAnInsertedId() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(1000, 0.01);
+        for (int i = 0; i < 1000; i++) {
+            filter.put("token-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 1000; i++) {
+            assertThat(filter.mightContain("token-" + i)).isTrue();
+            falsePositives += filter.mightContain("other-" + i) ? 1 : 0;
+        }
+        assertThat(falsePositives).isLessThan(30);
+    }
+}
@@ -0,0 +1,184 @@
+package com.suraj.authservice.service.impl;
+
+import com.suraj.authservice.audit.AuditEventWriter;
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
+import com.suraj.authservice.dto.BulkRoleChangeRequest;
+import com.suraj.authservice.dto.BulkRoleChangeResult;
+import com.suraj.authservice.entity.Role;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.exception.InvalidRoleException;
+import com.suraj.authservice.repository.UserRepository;
+import com.suraj.authservice.security.CachedUserDetailsService;
+import com.suraj.authservice.security.JwtKeyRing;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Bulk role changes against H2 in MySQL mode with case-insensitive strings, the way the users table
+ * compares usernames in production.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-service;MODE=MySQL;IGNORECASE=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "auth.admin.bulk-role-change.max-users=3"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(AdminServiceImpl.class)
+class AdminServiceImplTests {
+
+    @Autowired
+    private AdminServiceImpl adminService;
+
+    @SpyBean
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private JwtKeyRing jwtKeyRing;
+
+    @MockBean
+    private CachedUserDetailsService cachedUserDetailsService;
+
+    @MockBean
+    private AuthEventLog authEventLog;
+
+    @MockBean
+    private AuditEventWriter auditEventWriter;
+
+    @MockBean
+    private ReadYourWritesWindow readYourWritesWindow;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM users");
+        insertUsers(List.of("Alice", "bob", "carol"), Role.ROLE_USER);
+        insertUsers(List.of("admin"), Role.ROLE_ADMIN);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("admin", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void usernamesThatDifferOnlyInCaseNameOneUser() {
+        BulkRoleChangeResult result = adminService.changeUserRoles(
+                byUsername(List.of("alice", "ALICE", "Alice", "dave"), Role.ROLE_MODERATOR));
+
+        assertThat(result.outcomes())
+                .extracting(BulkRoleChangeResult.Outcome::username, BulkRoleChangeResult.Outcome::status)
+                .containsExactly(
+                        tuple("Alice", BulkRoleChangeResult.Status.CHANGED),
+                        tuple("dave", BulkRoleChangeResult.Status.NOT_FOUND));
+        assertThat(roleOf("Alice")).isEqualTo(Role.ROLE_MODERATOR);
+    }
+
+    @Test
+    void administratorsCannotChangeTheirOwnRole() {
+        BulkRoleChangeResult result = adminService.changeUserRoles(
+                byUsername(List.of("ADMIN", "bob"), Role.ROLE_USER));
+
+        assertThat(result.rejected()).isEqualTo(1);
+        assertThat(result.outcomes().get(0).message()).isEqualTo("Administrators cannot change their own role");
+        assertThat(roleOf("admin")).isEqualTo(Role.ROLE_ADMIN);
+        assertThat(result.unchanged()).isEqualTo(1);
+    }
+
+    @Test
+    void currentRoleChangesEveryUserWithThatRole() {
+        BulkRoleChangeResult result = adminService.changeUserRoles(
+                new BulkRoleChangeRequest(null, Role.ROLE_USER, Role.ROLE_MODERATOR, "re-tiering"));
+
+        assertThat(result.changed()).isEqualTo(3);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE role = 'ROLE_MODERATOR'",
+                Integer.class)).isEqualTo(3);
+    }
+
+    @Test
+    void currentRoleRefusesMoreUsersThanTheCap() {
+        insertUsers(List.of("dave"), Role.ROLE_USER);
+
+        assertThatThrownBy(() -> adminService.changeUserRoles(
+                new BulkRoleChangeRequest(null, Role.ROLE_USER, Role.ROLE_MODERATOR, null)))
+                .isInstanceOf(InvalidRoleException.class)
+                .hasMessageContaining("More than 3 users have the role ROLE_USER");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE role = 'ROLE_MODERATOR'",
+                Integer.class)).isZero();
+    }
+
+    @Test
+    void eitherUsernamesOrCurrentRoleMustBeGiven() {
+        assertThatThrownBy(() -> adminService.changeUserRoles(
+                new BulkRoleChangeRequest(List.of("bob"), Role.ROLE_USER, Role.ROLE_MODERATOR, null)))
+                .isInstanceOf(InvalidRoleException.class);
+        assertThatThrownBy(() -> adminService.changeUserRoles(
+                new BulkRoleChangeRequest(null, null, Role.ROLE_MODERATOR, null)))
+                .isInstanceOf(InvalidRoleException.class);
+    }
+
+    @Test
+    void largeRequestsAreReadAndUpdatedInChunksOfAThousand() {
+        List<String> usernames = IntStream.range(0, 2500).mapToObj(i -> "user" + i).toList();
+        insertUsers(usernames, Role.ROLE_USER);
+
+        BulkRoleChangeResult result = adminService.changeUserRoles(byUsername(usernames, Role.ROLE_SUPERVISOR));
+
+        assertThat(result.changed()).isEqualTo(2500);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE role = 'ROLE_SUPERVISOR'",
+                Integer.class)).isEqualTo(2500);
+        verify(userRepository, times(3)).lockRoles(anyCollection());
+        verify(userRepository, times(3)).updateRoles(anyCollection(), eq(Role.ROLE_SUPERVISOR), any(Instant.class));
+    }
+
+    private static BulkRoleChangeRequest byUsername(List<String> usernames, Role newRole) {
+        return new BulkRoleChangeRequest(usernames, null, newRole, null);
+    }
+
+    private Role roleOf(String username) {
+        return Role.valueOf(jdbcTemplate.queryForObject("SELECT role FROM users WHERE username = ?",
+                String.class, username));
+    }
+
+    private void insertUsers(List<String> usernames, Role role) {
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(usernames.size());
+        usernames.forEach(username ->
+                rows.add(new Object[]{username, username + "@example.com", "hash", role.name(), now}));
+        jdbcTemplate.batchUpdate("INSERT INTO users (id, username, email, password, role, created_at) " +
+                "VALUES (RANDOM_UUID(), ?, ?, ?, ?, ?)", rows);
+    }
+}
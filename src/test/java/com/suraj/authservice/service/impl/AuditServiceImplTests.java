@@ -0,0 +1,86 @@
+package com.suraj.authservice.service.impl;
+
+import com.suraj.authservice.dto.AuditEventPage;
+import com.suraj.authservice.entity.AuditEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuditServiceImplTests {
+
+    private static final Instant T0 = Instant.parse("2024-01-01T00:00:00Z");
+
+    private final EmbeddedDatabase database = new EmbeddedDatabaseBuilder()
+            .setType(EmbeddedDatabaseType.H2)
+            .generateUniqueName(true)
+            .build();
+    private final NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(database);
+    private final AuditServiceImpl auditService = new AuditServiceImpl(jdbcTemplate, 500);
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.getJdbcTemplate().execute("CREATE TABLE audit_events (id BIGINT PRIMARY KEY, " +
+                "occurred_at TIMESTAMP NOT NULL, action VARCHAR(32) NOT NULL, actor VARCHAR(255) NOT NULL, " +
+                "target VARCHAR(255) NOT NULL, old_value VARCHAR(255), new_value VARCHAR(255), reason VARCHAR(500))");
+        // Ids follow write order, which lags the event time: 3 was recorded before 2 but written after it
+        insert(1, T0.plusSeconds(10), "alice");
+        insert(2, T0.plusSeconds(30), "bob");
+        insert(3, T0.plusSeconds(20), "alice");
+        insert(4, T0.plusSeconds(30), "carol");
+        insert(5, T0.plusSeconds(40), "bob");
+    }
+
+    @AfterEach
+    void tearDown() {
+        database.shutdown();
+    }
+
+    @Test
+    void timeRangeQueriesPageByEventTimeThenId() {
+        assertThat(allPages(null, T0, T0.plusSeconds(60), 2)).containsExactly(5L, 4L, 2L, 3L, 1L);
+        assertThat(allPages(null, T0.plusSeconds(20), T0.plusSeconds(40), 1)).containsExactly(4L, 2L, 3L);
+    }
+
+    @Test
+    void otherQueriesPageById() {
+        assertThat(allPages(null, null, null, 2)).containsExactly(5L, 4L, 3L, 2L, 1L);
+        assertThat(allPages("alice", T0, null, 1)).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void anUnknownCursorEndsATimeRangeQuery() {
+        AuditEventPage page = auditService.findAuditEvents(null, null, T0, null, 99L, 10);
+
+        assertThat(page.events()).isEmpty();
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    private List<Long> allPages(String target, Instant from, Instant to, int limit) {
+        List<Long> ids = new ArrayList<>();
+        Long cursor = null;
+        do {
+            AuditEventPage page = auditService.findAuditEvents(null, target, from, to, cursor, limit);
+            page.events().stream().map(AuditEvent::getId).forEach(ids::add);
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+
+    private void insert(long id, Instant occurredAt, String target) {
+        jdbcTemplate.update("INSERT INTO audit_events (id, occurred_at, action, actor, target, new_value) " +
+                        "VALUES (:id, :occurredAt, 'ROLE_CHANGE', 'admin', :target, 'ROLE_MODERATOR')",
+                Map.of("id", id, "occurredAt", Timestamp.from(occurredAt), "target", target));
+    }
+}
@@ -0,0 +1,106 @@
+package com.suraj.authservice.service.impl;
+
+import com.auth0.jwt.exceptions.TokenExpiredException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.suraj.authservice.datasource.ReadYourWritesWindow;
+import com.suraj.authservice.dto.LoginRequest;
+import com.suraj.authservice.events.AuthEventLog;
+import com.suraj.authservice.events.AuthEventType;
+import com.suraj.authservice.exception.AuthenticationFailedException;
+import com.suraj.authservice.repository.UserRepository;
+import com.suraj.authservice.security.JWTService;
+import com.suraj.authservice.security.RefreshTokenService;
+import com.suraj.authservice.security.TokenRevocationStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuthServiceImplTests {
+
+    private JWTService jwtService;
+    private TokenRevocationStore tokenRevocationStore;
+    private RefreshTokenService refreshTokenService;
+    private AuthenticationManager authenticationManager;
+    private AuthEventLog authEventLog;
+    private AuthServiceImpl authService;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = mock(JWTService.class);
+        tokenRevocationStore = mock(TokenRevocationStore.class);
+        refreshTokenService = mock(RefreshTokenService.class);
+        authenticationManager = mock(AuthenticationManager.class);
+        authEventLog = mock(AuthEventLog.class);
+        authService = new AuthServiceImpl(mock(UserRepository.class), mock(PasswordEncoder.class),
+                authenticationManager, jwtService, tokenRevocationStore, refreshTokenService,
+                authEventLog, mock(ReadYourWritesWindow.class));
+    }
+
+    @Test
+    void logoutRevokesTheRefreshTokenAfterTheAccessTokenExpired() {
+        when(jwtService.validateToken("expired"))
+                .thenThrow(new TokenExpiredException("The Token has expired", Instant.now()));
+
+        assertThat(authService.logout("expired", "refresh", "203.0.113.7")).isEqualTo("Logout successful");
+
+        verify(refreshTokenService).revoke("refresh");
+        verify(tokenRevocationStore, never()).revoke(any(), any());
+    }
+
+    @Test
+    void logoutRevokesTheRefreshTokenWithoutAnAccessToken() {
+        authService.logout(null, "refresh", "203.0.113.7");
+
+        verify(refreshTokenService).revoke("refresh");
+    }
+
+    @Test
+    void logoutRevokesBothTokensWhileTheAccessTokenIsValid() {
+        DecodedJWT decodedJWT = mock(DecodedJWT.class);
+        Instant expiresAt = Instant.now().plusSeconds(600);
+        when(decodedJWT.getId()).thenReturn("jti");
+        when(decodedJWT.getSubject()).thenReturn("alice");
+        when(decodedJWT.getExpiresAtAsInstant()).thenReturn(expiresAt);
+        when(jwtService.validateToken("valid")).thenReturn(decodedJWT);
+
+        assertThat(authService.logout("valid", "refresh", "203.0.113.7")).isEqualTo("Logout successful for alice");
+
+        verify(refreshTokenService).revoke("refresh");
+        verify(tokenRevocationStore).revoke("jti", expiresAt);
+        verify(authEventLog).publish(AuthEventType.LOGOUT, "alice", "203.0.113.7");
+    }
+
+    @Test
+    void logoutWithNothingToRevokeFails() {
+        when(jwtService.validateToken("expired"))
+                .thenThrow(new TokenExpiredException("The Token has expired", Instant.now()));
+
+        assertThatThrownBy(() -> authService.logout("expired", null, "203.0.113.7"))
+                .isInstanceOf(AuthenticationFailedException.class);
+        assertThatThrownBy(() -> authService.logout(null, null, "203.0.113.7"))
+                .isInstanceOf(AuthenticationFailedException.class);
+    }
+
+    @Test
+    void failedLoginsAreRecordedWithTheClientAddress() {
+        when(authenticationManager.authenticate(any())).thenThrow(new BadCredentialsException("Bad credentials"));
+
+        assertThatThrownBy(() -> authService.login(new LoginRequest("alice", "wrong"), "203.0.113.7"))
+                .isInstanceOf(AuthenticationFailedException.class);
+
+        verify(authEventLog).publish(AuthEventType.LOGIN_FAILURE, "alice", "203.0.113.7",
+                "reason", "bad_credentials");
+    }
+}